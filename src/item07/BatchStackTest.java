@@ -0,0 +1,52 @@
+package item07;
+
+/**
+ * 원소 단위 push/pop 과 pushAll/popInto 의 처리 시간을 비교한다.
+ */
+public class BatchStackTest {
+    private static final int BATCH = 1_024;
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        Object[] batch = new Object[BATCH];
+        for (int i = 0; i < BATCH; i++)
+            batch[i] = i;
+
+        for (int i = 0; i < 5; i++) {
+            oneByOne(batch);
+            bulk(batch);
+        }
+
+        long start = System.nanoTime();
+        oneByOne(batch);
+        System.out.println("push/pop        : " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        start = System.nanoTime();
+        bulk(batch);
+        System.out.println("pushAll/popInto : " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        Stack stack = new Stack();
+        stack.pushAll(batch, 0, 3);
+        stack.drainTo(System.out::println); // 2, 1, 0
+    }
+
+    private static void oneByOne(Object[] batch) {
+        Stack stack = new Stack();
+        Object[] out = new Object[BATCH];
+        for (int r = 0; r < ROUNDS; r++) {
+            for (Object e : batch)
+                stack.push(e);
+            for (int i = 0; i < BATCH; i++)
+                out[i] = stack.pop();
+        }
+    }
+
+    private static void bulk(Object[] batch) {
+        Stack stack = new Stack();
+        Object[] out = new Object[BATCH];
+        for (int r = 0; r < ROUNDS; r++) {
+            stack.pushAll(batch, 0, BATCH);
+            stack.popInto(out, BATCH);
+        }
+    }
+}
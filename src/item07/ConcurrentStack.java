@@ -0,0 +1,93 @@
+package item07;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 락 없이 CAS 로 동작하는 Treiber 스택.
+ * CAS 경합에 실패하면 elimination 배열에서 반대 연산(push ↔ pop)을 하는 스레드와
+ * 원소를 직접 주고받아, 스택 top 을 건드리지 않고 두 연산을 함께 끝낸다.
+ */
+public class ConcurrentStack {
+    private static final int ELIMINATION_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long ELIMINATION_TIMEOUT_NANOS = 1_000;
+
+    // pop 이 교환기에 내놓는 표시와, null 원소를 감싸기 위한 표시
+    private static final Object POP_REQUEST = new Object();
+    private static final Object NULL_ELEMENT = new Object();
+
+    private final AtomicReference<Node> top = new AtomicReference<>();
+    private final Exchanger<Object>[] elimination;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentStack() {
+        elimination = (Exchanger<Object>[]) new Exchanger[ELIMINATION_SIZE];
+        for (int i = 0; i < elimination.length; i++)
+            elimination[i] = new Exchanger<>();
+    }
+
+    public void push(Object e) {
+        Node node = new Node(e);
+        while (true) {
+            Node oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node))
+                return;
+            // 경합 중이면 pop 하는 스레드와 바로 교환을 시도한다.
+            Object other = exchange(e == null ? NULL_ELEMENT : e);
+            if (other == POP_REQUEST)
+                return;
+        }
+    }
+
+    public Object pop() {
+        while (true) {
+            Node oldTop = top.get();
+            if (oldTop == null)
+                throw new EmptyStackException();
+            if (top.compareAndSet(oldTop, oldTop.next))
+                return oldTop.item;
+            Object other = exchange(POP_REQUEST);
+            if (other != null && other != POP_REQUEST)
+                return other == NULL_ELEMENT ? null : other;
+        }
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * 임의의 교환 슬롯에서 짧게 상대를 기다린다.
+     * 같은 종류의 연산끼리 만났거나 시간이 초과되면 실패로 보고 null 을 돌려준다.
+     * 인터럽트 상태라면 교환은 곧바로 예외로 끝나므로 시도하지 않고 CAS 재시도에 맡긴다.
+     */
+    private Object exchange(Object offer) {
+        if (Thread.currentThread().isInterrupted())
+            return null;
+        Exchanger<Object> slot = elimination[ThreadLocalRandom.current().nextInt(elimination.length)];
+        try {
+            Object other = slot.exchange(offer, ELIMINATION_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+            boolean sameKind = (offer == POP_REQUEST) == (other == POP_REQUEST);
+            return sameKind ? null : other;
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static final class Node {
+        private final Object item;
+        private Node next;
+
+        Node(Object item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package item07;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * synchronized 로 감싼 Stack 과 ConcurrentStack 의 스레드 수별 처리량을 비교한다.
+ * 각 스레드는 push 와 pop 을 번갈아 수행한다.
+ */
+public class ConcurrentStackBenchmark {
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    interface StackOps {
+        void push(Object e);
+
+        Object pop();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // 워밍업
+        run(synchronizedStack(), 4);
+        run(concurrentStack(), 4);
+
+        System.out.printf("%8s %20s %20s%n", "threads", "synchronized(ops/ms)", "concurrent(ops/ms)");
+        for (int threads : THREAD_COUNTS) {
+            long synchronizedOps = run(synchronizedStack(), threads);
+            long concurrentOps = run(concurrentStack(), threads);
+            System.out.printf("%8d %20d %20d%n", threads, synchronizedOps, concurrentOps);
+        }
+    }
+
+    private static StackOps synchronizedStack() {
+        Stack stack = new Stack();
+        return new StackOps() {
+            @Override
+            public void push(Object e) {
+                synchronized (stack) {
+                    stack.push(e);
+                }
+            }
+
+            @Override
+            public Object pop() {
+                synchronized (stack) {
+                    return stack.pop();
+                }
+            }
+        };
+    }
+
+    private static StackOps concurrentStack() {
+        ConcurrentStack stack = new ConcurrentStack();
+        return new StackOps() {
+            @Override
+            public void push(Object e) {
+                stack.push(e);
+            }
+
+            @Override
+            public Object pop() {
+                return stack.pop();
+            }
+        };
+    }
+
+    /**
+     * 모든 스레드를 동시에 출발시킨 뒤 밀리초당 연산 수를 돌려준다.
+     */
+    private static long run(StackOps stack, int threads) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        Object element = new Object();
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        stack.push(element);
+                        stack.pop(); // 자신이 넣은 뒤 꺼내므로 비어 있지 않다.
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        ready.await();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        return 2L * OPERATIONS_PER_THREAD * threads / elapsedMillis;
+    }
+}
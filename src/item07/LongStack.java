@@ -0,0 +1,43 @@
+package item07;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * long 전용 스택.
+ * Object[] 기반 Stack 과 달리 원소를 박싱하지 않고 long[] 에 그대로 저장한다.
+ */
+public class LongStack {
+    private long[] elements;
+    private int size = 0;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    public LongStack() {
+        elements = new long[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    public void push(long e) {
+        ensureCapacity();
+        elements[size++] = e;
+    }
+
+    public long pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        // 기본 타입은 참조가 아니므로 null 처리가 필요 없다.
+        return elements[--size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (elements.length == size)
+            elements = Arrays.copyOf(elements, 2 * size + 1);
+    }
+}
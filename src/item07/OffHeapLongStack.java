@@ -0,0 +1,70 @@
+package item07;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+
+/**
+ * 힙 밖(direct ByteBuffer)에 원소를 저장하는 long 스택.
+ * 고정 크기 청크를 이어 붙이며 늘어나므로 기존 원소를 복사하지 않고,
+ * 원소가 GC 대상 객체가 되지 않는다.
+ * 줄어들 때는 다음 push 가 쓸 청크와 여분 하나만 남기고 뒤쪽 청크를 놓아 준다.
+ * 놓아 준 direct 버퍼의 메모리는 GC 가 버퍼를 수거할 때 반환된다.
+ */
+public class OffHeapLongStack {
+    private static final int DEFAULT_CHUNK_ELEMENTS = 1 << 16;
+    // 청크 하나의 바이트 수가 int 범위를 넘지 않아야 한다.
+    private static final int MAX_CHUNK_ELEMENTS = Integer.MAX_VALUE / Long.BYTES;
+
+    private final int chunkElements;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long size = 0;
+
+    public OffHeapLongStack() {
+        this(DEFAULT_CHUNK_ELEMENTS);
+    }
+
+    public OffHeapLongStack(int chunkElements) {
+        if (chunkElements <= 0 || chunkElements > MAX_CHUNK_ELEMENTS)
+            throw new IllegalArgumentException("chunkElements must be in [1, " + MAX_CHUNK_ELEMENTS + "]: "
+                    + chunkElements);
+        this.chunkElements = chunkElements;
+    }
+
+    public void push(long e) {
+        int chunkIndex = (int) (size / chunkElements);
+        if (chunkIndex == chunks.size())
+            chunks.add(ByteBuffer.allocateDirect(chunkElements * Long.BYTES).order(ByteOrder.nativeOrder()));
+        int offset = (int) (size % chunkElements);
+        chunks.get(chunkIndex).putLong(offset * Long.BYTES, e);
+        size++;
+    }
+
+    public long pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        size--;
+        int chunkIndex = (int) (size / chunkElements);
+        int offset = (int) (size % chunkElements);
+        long e = chunks.get(chunkIndex).getLong(offset * Long.BYTES);
+        if (offset == 0)
+            releaseTrailingChunks(chunkIndex + 1);
+        return e;
+    }
+
+    // 청크 경계에서 push/pop 이 번갈아도 할당과 해제를 되풀이하지 않도록 keep 개 뒤로 하나를 더 남긴다.
+    private void releaseTrailingChunks(int keep) {
+        for (int last = chunks.size() - 1; last > keep; last--)
+            chunks.remove(last);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,67 @@
+package item07;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+
+/**
+ * 고정 크기 청크 목록으로 원소를 저장하는 스택.
+ * 공간이 부족하면 청크를 하나 더 붙이기만 하므로 기존 원소를 복사하지 않고,
+ * pop 으로 비워진 뒤쪽 청크는 해제해 메모리가 최고점에 머무르지 않게 한다.
+ */
+public class SegmentedStack {
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final int chunkSize;
+    private final List<Object[]> chunks = new ArrayList<>();
+    private int size = 0;
+
+    public SegmentedStack() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public SegmentedStack(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        this.chunkSize = chunkSize;
+    }
+
+    public void push(Object e) {
+        int chunkIndex = size / chunkSize;
+        if (chunkIndex == chunks.size())
+            chunks.add(new Object[chunkSize]);
+        chunks.get(chunkIndex)[size % chunkSize] = e;
+        size++;
+    }
+
+    public Object pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        size--;
+        Object[] chunk = chunks.get(size / chunkSize);
+        int offset = size % chunkSize;
+        Object result = chunk[offset];
+        chunk[offset] = null; // 다 쓴 참조 해제
+        releaseTrailingChunks();
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 비어 있는 뒤쪽 청크를 해제한다.
+     * 경계에서 push/pop 이 반복될 때 할당과 해제가 반복되지 않도록
+     * 빈 청크 하나는 남겨 둔다.
+     */
+    private void releaseTrailingChunks() {
+        int usedChunks = (size + chunkSize - 1) / chunkSize;
+        while (chunks.size() > usedChunks + 1)
+            chunks.remove(chunks.size() - 1);
+    }
+}
@@ -0,0 +1,36 @@
+package item07;
+
+/**
+ * 수천만 개의 참조를 쌓을 때 Stack 과 SegmentedStack 의 push 중 최대 지연을 비교한다.
+ */
+public class SegmentedStackTest {
+    private static final int COUNT = 20_000_000;
+
+    public static void main(String[] args) {
+        // 박싱 객체 생성으로 인한 GC 가 섞이지 않도록 같은 참조를 반복해서 넣는다.
+        Object element = new Object();
+
+        Stack stack = new Stack();
+        long worst = 0;
+        for (int i = 0; i < COUNT; i++) {
+            long start = System.nanoTime();
+            stack.push(element);
+            worst = Math.max(worst, System.nanoTime() - start);
+        }
+        System.out.println("Stack worst push          : " + worst / 1_000 + "us");
+        stack = null;
+
+        SegmentedStack segmentedStack = new SegmentedStack();
+        worst = 0;
+        for (int i = 0; i < COUNT; i++) {
+            long start = System.nanoTime();
+            segmentedStack.push(element);
+            worst = Math.max(worst, System.nanoTime() - start);
+        }
+        System.out.println("SegmentedStack worst push : " + worst / 1_000 + "us");
+
+        while (!segmentedStack.isEmpty())
+            segmentedStack.pop();
+        System.out.println("SegmentedStack size after pop : " + segmentedStack.size());
+    }
+}
@@ -2,6 +2,8 @@ package item07;
 
 import java.util.Arrays;
 import java.util.EmptyStackException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 public class Stack {
     private Object[] elements;
@@ -23,6 +25,44 @@ public class Stack {
         return elements[--size];
     }
 
+    /**
+     * src[off] 부터 len 개의 원소를 순서대로 push 한다.
+     * 공간은 한 번만 확보하고 System.arraycopy 로 옮긴다.
+     */
+    public void pushAll(Object[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        ensureCapacity(len);
+        System.arraycopy(src, off, elements, size, len);
+        size += len;
+    }
+
+    /**
+     * 최대 max 개의 원소를 pop 하여 dst 에 pop 순서대로 담고, 꺼낸 개수를 반환한다.
+     */
+    public int popInto(Object[] dst, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        int count = Math.min(Math.min(max, dst.length), size);
+        for (int i = 0; i < count; i++)
+            dst[i] = elements[size - 1 - i];
+        // 다 쓴 참조 해제
+        Arrays.fill(elements, size - count, size, null);
+        size -= count;
+        return count;
+    }
+
+    /**
+     * 모든 원소를 pop 순서대로 action 에 넘기고 스택을 비운다.
+     */
+    public void drainTo(Consumer<Object> action) {
+        Objects.requireNonNull(action);
+        while (size > 0) {
+            Object e = elements[--size];
+            elements[size] = null;
+            action.accept(e);
+        }
+    }
+
     /**
      * 원소를 위한 공간을 적어도 하나 이상 확보한다.
      * 배열 크기를 늘려야 할 때마다 대략 두 배씩 늘린다.
@@ -31,4 +71,15 @@ public class Stack {
         if (elements.length == size)
             elements = Arrays.copyOf(elements, 2 * size + 1);
     }
+
+    /**
+     * 원소를 위한 공간을 적어도 n 개 이상 확보한다.
+     */
+    private void ensureCapacity(int n) {
+        int required = size + n;
+        if (required < 0)
+            throw new OutOfMemoryError("Required stack capacity too large: " + size + " + " + n);
+        if (elements.length < required)
+            elements = Arrays.copyOf(elements, Math.max(required, 2 * size + 1));
+    }
 }
@@ -0,0 +1,64 @@
+package item07;
+
+/**
+ * Stack(Object[]) 과 기본 타입 전용 스택의 push/pop 시간을 비교한다.
+ * JMH 없이 실행할 수 있도록 워밍업 후 System.nanoTime 으로 측정한다.
+ */
+public class StackBenchmark {
+    private static final int COUNT = 5_000_000;
+    private static final int WARMUP = 5;
+
+    public static void main(String[] args) {
+        for (int i = 0; i < WARMUP; i++) {
+            objectStack();
+            longStack();
+            offHeapLongStack();
+        }
+
+        System.out.println("Stack            : " + time(StackBenchmark::objectStack) + "ms");
+        System.out.println("LongStack        : " + time(StackBenchmark::longStack) + "ms");
+        System.out.println("OffHeapLongStack : " + time(StackBenchmark::offHeapLongStack) + "ms");
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void objectStack() {
+        Stack stack = new Stack();
+        for (long i = 0; i < COUNT; i++)
+            stack.push(i); // 매번 Long 으로 박싱된다.
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++)
+            sum += (Long) stack.pop();
+        consume(sum);
+    }
+
+    private static void longStack() {
+        LongStack stack = new LongStack();
+        for (long i = 0; i < COUNT; i++)
+            stack.push(i);
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++)
+            sum += stack.pop();
+        consume(sum);
+    }
+
+    private static void offHeapLongStack() {
+        OffHeapLongStack stack = new OffHeapLongStack();
+        for (long i = 0; i < COUNT; i++)
+            stack.push(i);
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++)
+            sum += stack.pop();
+        consume(sum);
+    }
+
+    // JIT 이 계산을 제거하지 못하도록 결과를 사용한다.
+    private static void consume(long sum) {
+        if (sum == 42)
+            System.out.println(sum);
+    }
+}
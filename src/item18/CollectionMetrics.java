@@ -0,0 +1,132 @@
+package item18;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 계측 컬렉션들이 공유하는 연산별 호출 수, 조회 적중률, 지연 시간 기록기.
+ * 비활성 상태에서는 start 의 volatile 읽기 한 번으로 끝나므로 운영 코드에 그대로 둘 수 있다.
+ */
+public class CollectionMetrics {
+
+    public enum Operation {
+        ADD, REMOVE, CONTAINS, GET, PUT, OFFER, POLL, PEEK, SET, CLEAR, ADD_ALL, REMOVE_ALL, RETAIN_ALL, CONTAINS_ALL
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    // start 가 측정하지 않았음을 알리는 값. System.nanoTime() 이 이 값을 돌려주면 1 을 더해 피한다.
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private volatile boolean enabled;
+    private final LongAdder[] calls = new LongAdder[OPERATIONS.length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[] hits = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] misses = new LongAdder[OPERATIONS.length];
+
+    public CollectionMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+            hits[i] = new LongAdder();
+            misses[i] = new LongAdder();
+        }
+    }
+
+    public static CollectionMetrics enabled() {
+        return new CollectionMetrics(true);
+    }
+
+    public static CollectionMetrics disabled() {
+        return new CollectionMetrics(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enable() {
+        enabled = true;
+    }
+
+    public void disable() {
+        enabled = false;
+    }
+
+    /**
+     * 측정 시작 시각을 돌려준다. 비활성 상태면 시계를 읽지 않는다.
+     */
+    long start() {
+        if (!enabled)
+            return NOT_TIMED;
+        long now = System.nanoTime();
+        return now == NOT_TIMED ? now + 1 : now;
+    }
+
+    // start 에서 이미 enabled 를 확인했으므로 여기서는 다시 읽지 않는다.
+    void record(Operation operation, long startNanos) {
+        if (startNanos == NOT_TIMED)
+            return;
+        calls[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    void recordLookup(Operation operation, long startNanos, boolean hit) {
+        if (startNanos == NOT_TIMED)
+            return;
+        (hit ? hits : misses)[operation.ordinal()].increment();
+        record(operation, startNanos);
+    }
+
+    public long callCount(Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    public LatencyHistogram latency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * 조회 연산(CONTAINS, GET, POLL, PEEK)별 적중 수. 연산마다 따로 세므로 빈 큐의 poll 이 get 의 적중률에 섞이지 않는다.
+     */
+    public long hitCount(Operation operation) {
+        return hits[operation.ordinal()].sum();
+    }
+
+    public long missCount(Operation operation) {
+        return misses[operation.ordinal()].sum();
+    }
+
+    public double hitRatio(Operation operation) {
+        long hit = hitCount(operation);
+        long total = hit + missCount(operation);
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i].reset();
+            latencies[i].reset();
+            hits[i].reset();
+            misses[i].reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation operation : OPERATIONS) {
+            long count = callCount(operation);
+            if (count == 0)
+                continue;
+            LatencyHistogram latency = latency(operation);
+            sb.append(String.format("%-12s calls=%d p50=%dns p99=%dns",
+                    operation, count, latency.percentile(50), latency.percentile(99)));
+            long hit = hitCount(operation);
+            long miss = missCount(operation);
+            if (hit + miss > 0)
+                sb.append(String.format(" hit ratio=%.2f (hit=%d, miss=%d)", hitRatio(operation), hit, miss));
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString().stripTrailing();
+    }
+}
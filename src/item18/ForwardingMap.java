@@ -0,0 +1,74 @@
+package item18;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public class ForwardingMap<K, V> implements Map<K, V> {
+
+    private final Map<K, V> m;
+
+    public ForwardingMap(Map<K, V> m) {
+        this.m = m;
+    }
+
+    @Override
+    public int size() {
+        return m.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return m.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return m.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return m.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return m.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return m.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return m.remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        m.putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        m.clear();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return m.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return m.values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return m.entrySet();
+    }
+}
@@ -0,0 +1,104 @@
+package item18;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+
+public class ForwardingQueue<E> implements Queue<E> {
+
+    private final Queue<E> q;
+
+    public ForwardingQueue(Queue<E> q) {
+        this.q = q;
+    }
+
+    @Override
+    public int size() {
+        return q.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return q.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return q.contains(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return q.iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return q.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return q.toArray(a);
+    }
+
+    @Override
+    public boolean add(E e) {
+        return q.add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return q.remove(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return q.containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return q.addAll(c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return q.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return q.retainAll(c);
+    }
+
+    @Override
+    public void clear() {
+        q.clear();
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return q.offer(e);
+    }
+
+    @Override
+    public E remove() {
+        return q.remove();
+    }
+
+    @Override
+    public E poll() {
+        return q.poll();
+    }
+
+    @Override
+    public E element() {
+        return q.element();
+    }
+
+    @Override
+    public E peek() {
+        return q.peek();
+    }
+}
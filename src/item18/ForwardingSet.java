@@ -1,8 +1,13 @@
 package item18;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
 
 public class ForwardingSet<E> implements Set<E> {
 
@@ -52,6 +57,9 @@ public class ForwardingSet<E> implements Set<E> {
 
     @Override
     public boolean containsAll(Collection<?> c) {
+        SortedSet<?> other = sameOrderSortedSet(c);
+        if (other != null && isMergeCheaper(other))
+            return mergeContainsAll(other);
         return s.containsAll(c);
     }
 
@@ -62,11 +70,18 @@ public class ForwardingSet<E> implements Set<E> {
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        // 기본 구현은 원소마다 c.contains 를 호출하므로 병합이 항상 더 싸다.
+        SortedSet<?> other = sameOrderSortedSet(c);
+        if (other != null)
+            return mergeRemove(other, false);
         return s.retainAll(c);
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        SortedSet<?> other = sameOrderSortedSet(c);
+        if (other != null && isMergeCheaper(other))
+            return mergeRemove(other, true);
         return s.removeAll(c);
     }
 
@@ -74,4 +89,73 @@ public class ForwardingSet<E> implements Set<E> {
     public void clear() {
         s.clear();
     }
+
+    /*
+     * 정렬 집합끼리의 대량 연산 빠른 경로.
+     * 두 집합이 같은 순서(같은 Comparator)로 정렬되어 있으면 원소마다 탐색하지 않고
+     * 두 반복자를 나란히 진행하는 선형 병합으로 처리한다.
+     * EnumSet 끼리의 연산은 EnumSet 구현이 이미 비트 연산으로 처리하므로 그대로 위임한다.
+     */
+
+    private SortedSet<?> sameOrderSortedSet(Collection<?> c) {
+        if (!(s instanceof SortedSet) || !(c instanceof SortedSet))
+            return null;
+        SortedSet<?> other = (SortedSet<?>) c;
+        return Objects.equals(((SortedSet<?>) s).comparator(), other.comparator()) ? other : null;
+    }
+
+    // 병합은 O(n + m), 원소별 탐색은 O(m log n) 이다.
+    private boolean isMergeCheaper(Collection<?> c) {
+        int n = s.size();
+        int m = c.size();
+        int log2n = 32 - Integer.numberOfLeadingZeros(n);
+        return (long) m * log2n >= (long) n + m;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        Comparator<Object> comparator = (Comparator<Object>) ((SortedSet<?>) s).comparator();
+        return comparator != null ? comparator.compare(a, b) : ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private boolean mergeContainsAll(SortedSet<?> other) {
+        if (other.size() > s.size())
+            return false;
+        Iterator<E> mine = s.iterator();
+        for (Object o : other) {
+            int cmp = -1;
+            while (cmp < 0 && mine.hasNext())
+                cmp = compare(mine.next(), o);
+            if (cmp != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * other 에 포함된 원소(removeContained 가 true) 또는 포함되지 않은 원소를 제거한다.
+     * other 가 s 자신이거나 s 의 뷰(headSet 등)일 수 있으므로, 병합하는 동안에는 제거할 원소만 모으고
+     * 두 반복자를 다 쓴 뒤에 s 에서 지운다.
+     */
+    private boolean mergeRemove(SortedSet<?> other, boolean removeContained) {
+        List<E> removals = new ArrayList<>();
+        Iterator<E> mine = s.iterator();
+        Iterator<?> theirs = other.iterator();
+        Object o = theirs.hasNext() ? theirs.next() : null;
+        boolean theirsLeft = !other.isEmpty();
+        while (mine.hasNext()) {
+            E e = mine.next();
+            int cmp = 1;
+            while (theirsLeft && (cmp = compare(e, o)) > 0) {
+                theirsLeft = theirs.hasNext();
+                o = theirsLeft ? theirs.next() : null;
+            }
+            boolean contained = theirsLeft && cmp == 0;
+            if (contained == removeContained)
+                removals.add(e);
+        }
+        for (E e : removals)
+            s.remove(e);
+        return !removals.isEmpty();
+    }
 }
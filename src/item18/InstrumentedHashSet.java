@@ -2,10 +2,11 @@ package item18;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.atomic.LongAdder;
 
 public class InstrumentedHashSet<E> extends HashSet<E> {
-    // 추가 원소
-    private int addCount = 0;
+    // 추가 원소. 여러 스레드가 동시에 더해도 정확하도록 LongAdder 로 센다.
+    private final LongAdder addCount = new LongAdder();
 
     public InstrumentedHashSet() {
     }
@@ -16,17 +17,17 @@ public class InstrumentedHashSet<E> extends HashSet<E> {
 
     @Override
     public boolean add(E e) {
-        addCount++;
+        addCount.increment();
         return super.add(e);
     }
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        addCount += c.size();
+        addCount.add(c.size());
         return super.addAll(c);
     }
 
-    public int getAddCount() {
-        return addCount;
+    public long getAddCount() {
+        return addCount.sum();
     }
 }
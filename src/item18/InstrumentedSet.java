@@ -2,10 +2,12 @@ package item18;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 public class InstrumentedSet<E> extends ForwardingSet<E> {
 
-    private int addCount = 0;
+    // 스레드별로 나뉜 셀에 더하므로 경합 없이 정확한 개수를 센다.
+    private final LongAdder addCount = new LongAdder();
 
     public InstrumentedSet(Set<E> s) {
         super(s);
@@ -13,17 +15,17 @@ public class InstrumentedSet<E> extends ForwardingSet<E> {
 
     @Override
     public boolean add(E e) {
-        addCount++;
+        addCount.increment();
         return super.add(e);
     }
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        addCount += c.size();
+        addCount.add(c.size());
         return super.addAll(c);
     }
 
-    public int getAddCount() {
-        return addCount;
+    public long getAddCount() {
+        return addCount.sum();
     }
 }
@@ -0,0 +1,124 @@
+package item18;
+
+import java.util.Arrays;
+
+/**
+ * long 키 전용 선형 탐사 해시 집합. 키를 long[] 에 그대로 저장해 박싱하지 않는다.
+ * 0 은 빈 슬롯 표시로 쓰므로 별도 플래그로 관리한다.
+ */
+public class LongOpenHashSet {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private boolean containsZero = false;
+    private int size = 0;
+
+    public LongOpenHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongOpenHashSet(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        keys = new long[OpenAddressingHashSet.tableSizeFor(expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY)
+            return containsZero;
+        return indexOf(key) >= 0;
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero)
+                return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                if (size - (containsZero ? 1 : 0) >= OpenAddressingHashSet.MAX_CAPACITY - 1)
+                    throw new IllegalStateException("Set is full: " + size);
+                keys[i] = key;
+                if (++size > keys.length * LOAD_FACTOR && keys.length < OpenAddressingHashSet.MAX_CAPACITY)
+                    resize(keys.length * 2);
+                return true;
+            }
+            if (keys[i] == key)
+                return false;
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!containsZero)
+                return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(key);
+        if (index < 0)
+            return false;
+        int mask = keys.length - 1;
+        int hole = index;
+        for (int i = (hole + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = mix(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY)
+                return -1;
+            if (keys[i] == key)
+                return i;
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] old = keys;
+        keys = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long key : old) {
+            if (key == EMPTY)
+                continue;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY)
+                i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,42 @@
+package item18;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+public class MeteredCollectionTest {
+
+    public static void main(String[] args) {
+        CollectionMetrics setMetrics = CollectionMetrics.enabled();
+        MeteredSet<String> set = new MeteredSet<>(new HashSet<>(), setMetrics);
+        set.add("1");
+        set.add("2");
+        set.contains("1");
+        set.contains("3");
+        System.out.println("[Set]\n" + setMetrics);
+
+        CollectionMetrics mapMetrics = CollectionMetrics.enabled();
+        MeteredMap<String, Integer> map = new MeteredMap<>(new HashMap<>(), mapMetrics);
+        map.put("a", 1);
+        map.get("a");
+        map.get("b");
+        System.out.println("[Map]\n" + mapMetrics);
+
+        // 비활성 상태로 두었다가 조사가 필요할 때만 켠다.
+        CollectionMetrics listMetrics = CollectionMetrics.disabled();
+        MeteredList<Integer> list = new MeteredList<>(new ArrayList<>(), listMetrics);
+        list.add(1);
+        listMetrics.enable();
+        list.add(2);
+        list.get(0);
+        System.out.println("[List]\n" + listMetrics);
+
+        CollectionMetrics queueMetrics = CollectionMetrics.enabled();
+        MeteredQueue<Integer> queue = new MeteredQueue<>(new ArrayDeque<>(), queueMetrics);
+        queue.offer(1);
+        queue.poll();
+        queue.poll();
+        System.out.println("[Queue]\n" + queueMetrics);
+    }
+}
@@ -0,0 +1,84 @@
+package item18;
+
+import item18.CollectionMetrics.Operation;
+
+import java.util.List;
+
+/**
+ * 계측 List. 인덱스 접근과 선형 탐색(contains) 비용을 기록한다.
+ */
+public class MeteredList<E> extends ForwardingList<E> {
+
+    private final CollectionMetrics metrics;
+
+    public MeteredList(List<E> l, CollectionMetrics metrics) {
+        super(l);
+        this.metrics = metrics;
+    }
+
+    public CollectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        long start = metrics.start();
+        boolean result = super.contains(o);
+        metrics.recordLookup(Operation.CONTAINS, start, result);
+        return result;
+    }
+
+    @Override
+    public boolean add(E e) {
+        long start = metrics.start();
+        boolean result = super.add(e);
+        metrics.record(Operation.ADD, start);
+        return result;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long start = metrics.start();
+        super.add(index, element);
+        metrics.record(Operation.ADD, start);
+    }
+
+    @Override
+    public E get(int index) {
+        long start = metrics.start();
+        E result = super.get(index);
+        metrics.record(Operation.GET, start);
+        return result;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        long start = metrics.start();
+        E result = super.set(index, element);
+        metrics.record(Operation.SET, start);
+        return result;
+    }
+
+    @Override
+    public E remove(int index) {
+        long start = metrics.start();
+        E result = super.remove(index);
+        metrics.record(Operation.REMOVE, start);
+        return result;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long start = metrics.start();
+        boolean result = super.remove(o);
+        metrics.record(Operation.REMOVE, start);
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        long start = metrics.start();
+        super.clear();
+        metrics.record(Operation.CLEAR, start);
+    }
+}
@@ -0,0 +1,62 @@
+package item18;
+
+import item18.CollectionMetrics.Operation;
+
+import java.util.Map;
+
+/**
+ * 계측 Map. get/containsKey 의 적중률과 연산별 지연 시간을 기록한다.
+ */
+public class MeteredMap<K, V> extends ForwardingMap<K, V> {
+
+    private final CollectionMetrics metrics;
+
+    public MeteredMap(Map<K, V> m, CollectionMetrics metrics) {
+        super(m);
+        this.metrics = metrics;
+    }
+
+    public CollectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        long start = metrics.start();
+        boolean result = super.containsKey(key);
+        metrics.recordLookup(Operation.CONTAINS, start, result);
+        return result;
+    }
+
+    // null 을 값으로 허용하는 맵이라면 null 값도 miss 로 집계된다.
+    @Override
+    public V get(Object key) {
+        long start = metrics.start();
+        V result = super.get(key);
+        metrics.recordLookup(Operation.GET, start, result != null);
+        return result;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        long start = metrics.start();
+        V result = super.put(key, value);
+        metrics.record(Operation.PUT, start);
+        return result;
+    }
+
+    @Override
+    public V remove(Object key) {
+        long start = metrics.start();
+        V result = super.remove(key);
+        metrics.record(Operation.REMOVE, start);
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        long start = metrics.start();
+        super.clear();
+        metrics.record(Operation.CLEAR, start);
+    }
+}
@@ -0,0 +1,61 @@
+package item18;
+
+import item18.CollectionMetrics.Operation;
+
+import java.util.Queue;
+
+/**
+ * 계측 Queue. offer/poll/peek 의 호출 수와 지연 시간, 빈 큐에서의 poll 을 miss 로 기록한다.
+ */
+public class MeteredQueue<E> extends ForwardingQueue<E> {
+
+    private final CollectionMetrics metrics;
+
+    public MeteredQueue(Queue<E> q, CollectionMetrics metrics) {
+        super(q);
+        this.metrics = metrics;
+    }
+
+    public CollectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean add(E e) {
+        long start = metrics.start();
+        boolean result = super.add(e);
+        metrics.record(Operation.ADD, start);
+        return result;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        long start = metrics.start();
+        boolean result = super.offer(e);
+        metrics.record(Operation.OFFER, start);
+        return result;
+    }
+
+    @Override
+    public E poll() {
+        long start = metrics.start();
+        E result = super.poll();
+        metrics.recordLookup(Operation.POLL, start, result != null);
+        return result;
+    }
+
+    @Override
+    public E peek() {
+        long start = metrics.start();
+        E result = super.peek();
+        metrics.recordLookup(Operation.PEEK, start, result != null);
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        long start = metrics.start();
+        super.clear();
+        metrics.record(Operation.CLEAR, start);
+    }
+}
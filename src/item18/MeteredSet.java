@@ -0,0 +1,86 @@
+package item18;
+
+import item18.CollectionMetrics.Operation;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * InstrumentedSet 을 일반화한 계측 Set. 연산별 호출 수와 지연 시간, contains 적중률을 기록한다.
+ */
+public class MeteredSet<E> extends ForwardingSet<E> {
+
+    private final CollectionMetrics metrics;
+
+    public MeteredSet(Set<E> s, CollectionMetrics metrics) {
+        super(s);
+        this.metrics = metrics;
+    }
+
+    public CollectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        long start = metrics.start();
+        boolean result = super.contains(o);
+        metrics.recordLookup(Operation.CONTAINS, start, result);
+        return result;
+    }
+
+    @Override
+    public boolean add(E e) {
+        long start = metrics.start();
+        boolean result = super.add(e);
+        metrics.record(Operation.ADD, start);
+        return result;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long start = metrics.start();
+        boolean result = super.remove(o);
+        metrics.record(Operation.REMOVE, start);
+        return result;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        long start = metrics.start();
+        boolean result = super.containsAll(c);
+        metrics.record(Operation.CONTAINS_ALL, start);
+        return result;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        long start = metrics.start();
+        boolean result = super.addAll(c);
+        metrics.record(Operation.ADD_ALL, start);
+        return result;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        long start = metrics.start();
+        boolean result = super.retainAll(c);
+        metrics.record(Operation.RETAIN_ALL, start);
+        return result;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        long start = metrics.start();
+        boolean result = super.removeAll(c);
+        metrics.record(Operation.REMOVE_ALL, start);
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        long start = metrics.start();
+        super.clear();
+        metrics.record(Operation.CLEAR, start);
+    }
+}
@@ -0,0 +1,199 @@
+package item18;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 선형 탐사(linear probing) 방식의 해시 집합.
+ * HashSet 과 달리 원소마다 노드 객체를 만들지 않고 키를 평평한 배열 하나에 저장한다.
+ * 삭제는 뒤따르는 원소를 앞으로 당기는 방식(backward shift)이라 묘비(tombstone)가 남지 않는다.
+ * ForwardingSet 의 내부 집합으로 그대로 사용할 수 있다. null 원소는 허용하지 않는다.
+ */
+public class OpenAddressingHashSet<E> extends AbstractSet<E> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    // 탐사가 끝나도록 빈 칸을 하나는 남겨야 하므로 이 크기의 표에는 MAX_CAPACITY - 1 개까지만 담는다.
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+    private int size = 0;
+    private int modCount = 0;
+
+    public OpenAddressingHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OpenAddressingHashSet(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        keys = new Object[tableSizeFor(expectedSize)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null)
+            throw new NullPointerException("null element is not supported");
+        int mask = keys.length - 1;
+        for (int i = mix(e.hashCode()) & mask; ; i = (i + 1) & mask) {
+            Object key = keys[i];
+            if (key == null) {
+                if (size >= MAX_CAPACITY - 1)
+                    throw new IllegalStateException("Set is full: " + size);
+                keys[i] = e;
+                modCount++;
+                if (++size > keys.length * LOAD_FACTOR && keys.length < MAX_CAPACITY)
+                    resize(keys.length * 2);
+                return true;
+            }
+            if (key.equals(e))
+                return false;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null)
+            return false;
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * 빈 슬롯 바로 다음부터 한 바퀴 순회한다.
+     * 삭제 시 원소는 같은 군집 안에서 앞으로만 당겨지고 군집은 빈 슬롯을 넘지 않으므로,
+     * 순회 중 remove 를 해도 이미 지나온 원소가 다시 나타나지 않는다.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final int origin = emptySlot();
+            private int offset = advance(1);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            private int emptySlot() {
+                int i = 0;
+                while (keys[i] != null)
+                    i++;
+                return i;
+            }
+
+            private int slot(int offset) {
+                return (origin + offset) & (keys.length - 1);
+            }
+
+            private int advance(int from) {
+                while (from < keys.length && keys[slot(from)] == null)
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return offset < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (offset >= keys.length)
+                    throw new NoSuchElementException();
+                last = offset;
+                offset = advance(offset + 1);
+                return (E) keys[slot(last)];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                // 뒤의 원소가 last 자리로 당겨질 수 있으므로 last 부터 다시 확인한다.
+                removeAt(slot(last));
+                offset = advance(last);
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    private int indexOf(Object o) {
+        int mask = keys.length - 1;
+        for (int i = mix(o.hashCode()) & mask; ; i = (i + 1) & mask) {
+            Object key = keys[i];
+            if (key == null)
+                return -1;
+            if (key.equals(o))
+                return i;
+        }
+    }
+
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        for (int i = (hole + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = mix(keys[i].hashCode()) & mask;
+            // home 이 (hole, i] 구간 밖이면 i 의 원소를 hole 로 당겨도 탐색 경로가 유지된다.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        size--;
+        modCount++;
+    }
+
+    private void resize(int newCapacity) {
+        Object[] old = keys;
+        keys = new Object[newCapacity];
+        int mask = newCapacity - 1;
+        for (Object key : old) {
+            if (key == null)
+                continue;
+            int i = mix(key.hashCode()) & mask;
+            while (keys[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+
+    // 선형 탐사는 군집에 약하므로 해시의 상위 비트를 하위로 섞는다.
+    static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        if (needed >= MAX_CAPACITY)
+            return MAX_CAPACITY;
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+}
@@ -0,0 +1,43 @@
+package item18;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 100만 원소 TreeSet 의 대량 연산을 TreeSet 기본 구현과 ForwardingSet 병합 경로로 비교한다.
+ */
+public class SetAlgebraBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    public static void main(String[] args) {
+        TreeSet<Integer> evens = new TreeSet<>();
+        TreeSet<Integer> all = new TreeSet<>();
+        for (int i = 0; i < SIZE; i++) {
+            all.add(i);
+            if (i % 2 == 0)
+                evens.add(i);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            run("TreeSet      ", new TreeSet<>(all), evens);
+            run("ForwardingSet", new ForwardingSet<>(new TreeSet<>(all)), evens);
+        }
+    }
+
+    private static void run(String name, Set<Integer> set, TreeSet<Integer> evens) {
+        long start = System.nanoTime();
+        boolean containsAll = set.containsAll(evens);
+        long containsAllMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        set.retainAll(evens);
+        long retainAllMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        set.removeAll(evens);
+        long removeAllMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%s containsAll=%dms(%b) retainAll=%dms removeAll=%dms size=%d%n",
+                name, containsAllMillis, containsAll, retainAllMillis, removeAllMillis, set.size());
+    }
+}
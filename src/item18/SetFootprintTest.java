@@ -0,0 +1,55 @@
+package item18;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * HashSet 과 개방 주소법 집합의 힙 사용량을 비교한다.
+ * JOL 없이 GC 전후의 사용 메모리 차이로 근사하므로 -Xmx 를 넉넉히 주고 실행한다.
+ */
+public class SetFootprintTest {
+    private static final int SIZE = 2_000_000;
+
+    public static void main(String[] args) {
+        // 원소 객체 자체는 세지 않도록 미리 만들어 둔다.
+        Long[] ids = new Long[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            ids[i] = (long) i * 31;
+
+        long hashSet = footprint(() -> fill(new HashSet<>(), ids));
+        long openSet = footprint(() -> fill(new InstrumentedSet<>(new OpenAddressingHashSet<>()), ids));
+        long longSet = footprint(() -> {
+            LongOpenHashSet set = new LongOpenHashSet();
+            for (Long id : ids)
+                set.add(id);
+            return set;
+        });
+
+        System.out.printf("HashSet               : %,d bytes (%.1f bytes/entry)%n", hashSet, (double) hashSet / SIZE);
+        System.out.printf("OpenAddressingHashSet : %,d bytes (%.1f bytes/entry)%n", openSet, (double) openSet / SIZE);
+        System.out.printf("LongOpenHashSet       : %,d bytes (%.1f bytes/entry, 박싱된 Long 포함 안 함)%n", longSet, (double) longSet / SIZE);
+    }
+
+    private static Set<Long> fill(Set<Long> set, Long[] ids) {
+        for (Long id : ids)
+            set.add(id);
+        return set;
+    }
+
+    private static long footprint(Supplier<Object> factory) {
+        long before = usedMemory();
+        Object set = factory.get();
+        long after = usedMemory();
+        if (set.hashCode() == 42)
+            System.out.println(); // 측정이 끝날 때까지 set 을 살려 둔다.
+        return after - before;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
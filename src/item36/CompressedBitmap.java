@@ -0,0 +1,439 @@
+package item36;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Roaring 비트맵 방식의 압축 정수 집합.
+ * int 값을 상위 16비트로 나눈 구간(chunk)마다 컨테이너를 두고,
+ * 원소가 적은 구간은 정렬된 char[] 로, 많은 구간은 65536비트 long[] 으로 저장한다.
+ * and/or/andNot 는 구간 단위로, 비트 컨테이너끼리는 워드 단위로 계산한다.
+ */
+public class CompressedBitmap {
+    // 이 개수를 넘으면 배열보다 비트맵(8KB)이 작아진다.
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = (1 << 16) / Long.SIZE;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunkCount = 0;
+
+    public void add(int value) {
+        int index = chunkIndex(highBits(value));
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, highBits(value), new ArrayContainer());
+        }
+        containers[index] = containers[index].add(lowBits(value));
+    }
+
+    public void remove(int value) {
+        int index = chunkIndex(highBits(value));
+        if (index < 0)
+            return;
+        Container container = containers[index].remove(lowBits(value));
+        if (container.cardinality() == 0)
+            removeChunk(index);
+        else
+            containers[index] = container;
+    }
+
+    public boolean contains(int value) {
+        int index = chunkIndex(highBits(value));
+        return index >= 0 && containers[index].contains(lowBits(value));
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < chunkCount; i++)
+            cardinality += containers[i].cardinality();
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            int high = keys[i] << 16;
+            containers[i].forEach(low -> action.accept(high | low));
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> result[position[0]++] = value);
+        return result;
+    }
+
+    /**
+     * 대략적인 메모리 사용량(바이트).
+     */
+    public long sizeInBytes() {
+        long size = (long) keys.length * Character.BYTES + (long) containers.length * 4;
+        for (int i = 0; i < chunkCount; i++)
+            size += containers[i].sizeInBytes();
+        return size;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0, j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0)
+                    result.appendChunk(keys[i], container);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0, j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], containers[i].copy());
+                i++;
+            } else if (i == chunkCount || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i])
+                j++;
+            Container container = j < other.chunkCount && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (container.cardinality() > 0)
+                result.appendChunk(keys[i], container);
+        }
+        return result;
+    }
+
+    private static char highBits(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char lowBits(int value) {
+        return (char) value;
+    }
+
+    private int chunkIndex(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int index, char key, Container container) {
+        ensureChunkCapacity();
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(containers, index, containers, index + 1, chunkCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        chunkCount++;
+    }
+
+    private void appendChunk(char key, Container container) {
+        ensureChunkCapacity();
+        keys[chunkCount] = key;
+        containers[chunkCount++] = container;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunkCount - index - 1);
+        containers[--chunkCount] = null;
+    }
+
+    private void ensureChunkCapacity() {
+        if (chunkCount == keys.length) {
+            keys = Arrays.copyOf(keys, chunkCount * 2);
+            containers = Arrays.copyOf(containers, chunkCount * 2);
+        }
+    }
+
+    /**
+     * 한 구간(하위 16비트)의 원소를 담는 컨테이너.
+     * 변경 연산은 더 알맞은 표현으로 바뀐 컨테이너를 돌려줄 수 있다.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(IntConsumer action);
+
+        abstract long sizeInBytes();
+
+        abstract Container copy();
+
+        abstract long[] toWords();
+
+        Container and(Container other) {
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                words[i] &= otherWords[i];
+            return fromWords(words);
+        }
+
+        Container or(Container other) {
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                words[i] |= otherWords[i];
+            return fromWords(words);
+        }
+
+        Container andNot(Container other) {
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                words[i] &= ~otherWords[i];
+            return fromWords(words);
+        }
+
+        static Container fromWords(long[] words) {
+            BitmapContainer bitmap = new BitmapContainer(words);
+            return bitmap.cardinality() <= ARRAY_MAX ? bitmap.toArrayContainer() : bitmap;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0)
+                return this;
+            if (size == ARRAY_MAX)
+                return new BitmapContainer(toWords()).add(value);
+            index = -index - 1;
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++)
+                action.accept(values[i]);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++)
+                words[values[i] >>> 6] |= 1L << values[i];
+            return words;
+        }
+
+        // 배열끼리의 교집합은 병합하고, 비트맵과의 교집합은 배열 원소마다 비트를 확인한다.
+        @Override
+        Container and(Container other) {
+            if (!(other instanceof ArrayContainer))
+                return filter(other, true);
+            ArrayContainer o = (ArrayContainer) other;
+            char[] result = new char[Math.min(size, o.size)];
+            int count = 0;
+            for (int i = 0, j = 0; i < size && j < o.size; ) {
+                if (values[i] < o.values[j]) {
+                    i++;
+                } else if (values[i] > o.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return filter(other, false);
+        }
+
+        @Override
+        Container or(Container other) {
+            return other instanceof BitmapContainer ? other.or(this) : super.or(other);
+        }
+
+        // other 에 들어 있는지(keep = true) 또는 없는지(keep = false)로 원소를 골라 배열 컨테이너로 돌려준다.
+        private ArrayContainer filter(Container other, boolean keep) {
+            char[] result = new char[Math.max(4, size)];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keep)
+                    result[count++] = values[i];
+            }
+            return new ArrayContainer(result, count);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words) {
+            this.words = words;
+            for (long word : words)
+                cardinality += Long.bitCount(word);
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX / 2 ? toArrayContainer() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long sizeInBytes() {
+            return (long) BITMAP_WORDS * Long.BYTES;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone());
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        Container and(Container other) {
+            return other instanceof ArrayContainer ? other.and(this) : super.and(other);
+        }
+
+        // 배열 컨테이너와의 연산은 배열을 펼치지 않고 해당 비트만 고친다.
+        @Override
+        Container or(Container other) {
+            if (!(other instanceof ArrayContainer))
+                return super.or(other);
+            long[] result = words.clone();
+            other.forEach(value -> result[value >>> 6] |= 1L << value);
+            return new BitmapContainer(result);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (!(other instanceof ArrayContainer))
+                return super.andNot(other);
+            long[] result = words.clone();
+            other.forEach(value -> result[value >>> 6] &= ~(1L << value));
+            return fromWords(result);
+        }
+
+        ArrayContainer toArrayContainer() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int[] size = {0};
+            forEach(value -> values[size[0]++] = (char) value);
+            return new ArrayContainer(values, size[0]);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package item36;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 64개를 넘는 스타일 플래그를 담는 불변 비트 집합.
+ * long[] 의 워드 단위로 합집합/교집합/포함 여부를 계산하고,
+ * 하위 8비트 안의 조합은 미리 만들어 둔 정규(canonical) 인스턴스를 돌려준다.
+ * Arrow 의 int 비트 필드와 Arrow2 의 EnumSet 사이를 손실 없이 변환할 수 있다.
+ */
+public final class StyleFlags {
+    private static final int CACHED_BITS = 8;
+    private static final StyleFlags[] CANONICAL = new StyleFlags[1 << CACHED_BITS];
+    private static final Arrow2.Style[] STYLES = Arrow2.Style.values();
+
+    static {
+        for (int i = 0; i < CANONICAL.length; i++)
+            CANONICAL[i] = new StyleFlags(new long[]{i});
+    }
+
+    public static final StyleFlags EMPTY = CANONICAL[0];
+
+    // 마지막 워드가 0이 아니도록 정규화되어 있으므로 길이와 원소로 동등성을 판단할 수 있다.
+    private final long[] words;
+
+    private StyleFlags(long[] words) {
+        this.words = words;
+    }
+
+    public static StyleFlags of(int... flags) {
+        int max = -1;
+        for (int flag : flags) {
+            if (flag < 0)
+                throw new IllegalArgumentException("flag must not be negative: " + flag);
+            max = Math.max(max, flag);
+        }
+        long[] words = new long[max / Long.SIZE + 1];
+        for (int flag : flags)
+            words[flag / Long.SIZE] |= 1L << flag;
+        return valueOf(words);
+    }
+
+    /**
+     * Arrow 의 int 비트 필드(BOLD | DOTTED ...) 로부터 만든다.
+     */
+    public static StyleFlags fromArrowMask(int mask) {
+        return valueOf(new long[]{mask & 0xFFFFFFFFL});
+    }
+
+    /**
+     * Arrow2 의 스타일 집합으로부터 만든다. 각 스타일의 ordinal 이 비트 위치가 된다.
+     */
+    public static StyleFlags fromStyles(Set<Arrow2.Style> styles) {
+        long word = 0;
+        for (Arrow2.Style style : styles)
+            word |= 1L << style.ordinal();
+        return valueOf(new long[]{word});
+    }
+
+    public boolean contains(int flag) {
+        int index = flag / Long.SIZE;
+        return flag >= 0 && index < words.length && (words[index] & (1L << flag)) != 0;
+    }
+
+    public boolean containsAll(StyleFlags other) {
+        if (other.words.length > words.length)
+            return false;
+        for (int i = 0; i < other.words.length; i++) {
+            if ((words[i] & other.words[i]) != other.words[i])
+                return false;
+        }
+        return true;
+    }
+
+    public boolean intersects(StyleFlags other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 합집합. 결과가 어느 한쪽과 같으면 그 인스턴스를 그대로 돌려주므로 새로 할당하지 않는다.
+     */
+    public StyleFlags union(StyleFlags other) {
+        if (containsAll(other))
+            return this;
+        if (other.containsAll(this))
+            return other;
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++)
+            result[i] |= shorter[i];
+        return valueOf(result);
+    }
+
+    public StyleFlags intersect(StyleFlags other) {
+        if (other.containsAll(this))
+            return this;
+        if (containsAll(other))
+            return other;
+        long[] result = new long[Math.min(words.length, other.words.length)];
+        for (int i = 0; i < result.length; i++)
+            result[i] = words[i] & other.words[i];
+        return valueOf(result);
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : words)
+            size += Long.bitCount(word);
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * Arrow 의 int 비트 필드로 변환한다. 32번째 이후 플래그가 있으면 손실되므로 예외를 던진다.
+     */
+    public int toArrowMask() {
+        if (words.length > 1 || (words[0] >>> Integer.SIZE) != 0)
+            throw new IllegalStateException("Flags beyond 32 bits cannot be an int mask: " + this);
+        return (int) words[0];
+    }
+
+    /**
+     * Arrow2 의 스타일 집합으로 변환한다. Style 에 대응하지 않는 플래그가 있으면 예외를 던진다.
+     */
+    public EnumSet<Arrow2.Style> toStyles() {
+        if (words.length > 1 || (words[0] >>> STYLES.length) != 0)
+            throw new IllegalStateException("Flags have no matching Arrow2.Style: " + this);
+        EnumSet<Arrow2.Style> styles = EnumSet.noneOf(Arrow2.Style.class);
+        for (Arrow2.Style style : STYLES) {
+            if ((words[0] & (1L << style.ordinal())) != 0)
+                styles.add(style);
+        }
+        return styles;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof StyleFlags))
+            return false;
+        return Arrays.equals(words, ((StyleFlags) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < words.length * Long.SIZE; i++) {
+            if (contains(i))
+                sb.append(sb.length() > 1 ? ", " : "").append(i);
+        }
+        return sb.append(']').toString();
+    }
+
+    // 뒤쪽의 0 워드를 잘라 정규화하고, 작은 조합이면 캐시된 인스턴스를 돌려준다.
+    private static StyleFlags valueOf(long[] words) {
+        int length = words.length;
+        while (length > 1 && words[length - 1] == 0)
+            length--;
+        if (length == 1 && (words[0] >>> CACHED_BITS) == 0)
+            return CANONICAL[(int) words[0]];
+        return new StyleFlags(length == words.length ? words : Arrays.copyOf(words, length));
+    }
+}
@@ -0,0 +1,23 @@
+package item36;
+
+import java.util.EnumSet;
+
+public class StyleFlagsTest {
+
+    public static void main(String[] args) {
+        StyleFlags bold = StyleFlags.fromArrowMask(Arrow.BOLD);
+        StyleFlags boldDotted = StyleFlags.fromStyles(EnumSet.of(Arrow2.Style.BOLD, Arrow2.Style.DOTTED));
+        System.out.println(boldDotted.containsAll(bold)); // true
+
+        // 하위 8비트 조합은 같은 인스턴스를 공유한다.
+        System.out.println(bold.union(StyleFlags.fromArrowMask(Arrow.DOTTED)) == boldDotted); // true
+
+        // 64개를 넘는 플래그
+        StyleFlags wide = StyleFlags.of(0, 70, 130);
+        System.out.println(wide + " " + wide.intersect(boldDotted)); // [0, 70, 130] [0]
+
+        Arrow arrow = new Arrow(boldDotted.toArrowMask());
+        Arrow2 arrow2 = new Arrow2(StyleFlags.fromArrowMask(arrow.getCurrentStyle()).toStyles());
+        System.out.println(arrow2.getCurrentStyle()); // [BOLD, DOTTED]
+    }
+}
@@ -0,0 +1,95 @@
+package item36;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Arrow2.Style 별로 압축 비트맵을 하나씩 두고, 해당 스타일을 가진 화살표 id 를 기록하는 색인.
+ * "BOLD 와 FILLED 는 있고 DOTTED 는 없는 화살표" 같은 질의를 전체 스캔 없이 비트맵 연산으로 답한다.
+ *
+ * <p>색인에 넣은 화살표의 스타일은 StyleIndex.applyStyle 로만 바꿔야 한다. Arrow2.applyStyle 을 직접 부르면
+ * 색인과 어긋난다. add 와 applyStyle 은 넘겨받은 Set 을 EnumSet 으로 복사해 화살표에 넣으므로,
+ * 호출자가 나중에 그 Set 을 바꿔도 영향이 없다.
+ */
+public class StyleIndex {
+    private final Map<Arrow2.Style, CompressedBitmap> bitmaps = new EnumMap<>(Arrow2.Style.class);
+    private final CompressedBitmap all = new CompressedBitmap();
+
+    public StyleIndex() {
+        for (Arrow2.Style style : Arrow2.Style.values())
+            bitmaps.put(style, new CompressedBitmap());
+    }
+
+    /**
+     * 화살표의 현재 스타일로 id 를 색인한다. 이미 색인된 id 면 이전 스타일은 지우고 새로 기록한다.
+     * 이때 arrow 의 스타일 Set 을 색인이 만든 EnumSet 복사본으로 바꿔 끼운다(arrow.applyStyle 호출).
+     * 호출자가 넘겼던 Set 을 나중에 바꿔도 화살표와 색인이 어긋나지 않게 하기 위해서다.
+     */
+    public void add(int id, Arrow2 arrow) {
+        Set<Arrow2.Style> style = copyOf(arrow.getCurrentStyle());
+        arrow.applyStyle(style);
+        remove(id);
+        all.add(id);
+        for (Arrow2.Style s : style)
+            bitmaps.get(s).add(id);
+    }
+
+    // 화살표의 현재 스타일과 관계없이 모든 비트맵에서 지운다.
+    public void remove(int id) {
+        all.remove(id);
+        for (CompressedBitmap bitmap : bitmaps.values())
+            bitmap.remove(id);
+    }
+
+    /**
+     * 화살표의 스타일을 바꾸면서 달라진 스타일의 비트맵만 갱신한다.
+     */
+    public void applyStyle(int id, Arrow2 arrow, Set<Arrow2.Style> newStyle) {
+        Set<Arrow2.Style> style = copyOf(newStyle);
+        for (Arrow2.Style s : Arrow2.Style.values()) {
+            boolean before = bitmaps.get(s).contains(id);
+            boolean after = style.contains(s);
+            if (!before && after)
+                bitmaps.get(s).add(id);
+            else if (before && !after)
+                bitmaps.get(s).remove(id);
+        }
+        arrow.applyStyle(style);
+    }
+
+    /**
+     * required 의 스타일을 모두 가지고 excluded 의 스타일은 하나도 가지지 않은 화살표 id 들.
+     */
+    public CompressedBitmap query(Set<Arrow2.Style> required, Set<Arrow2.Style> excluded) {
+        CompressedBitmap result = all;
+        for (Arrow2.Style style : required)
+            result = result.and(bitmaps.get(style));
+        for (Arrow2.Style style : excluded)
+            result = result.andNot(bitmaps.get(style));
+        // 조건이 없으면 내부 비트맵이 밖에서 변경되지 않도록 복사본을 돌려준다.
+        return result == all ? all.or(new CompressedBitmap()) : result;
+    }
+
+    /**
+     * any 의 스타일 중 하나라도 가진 화살표 id 들.
+     */
+    public CompressedBitmap queryAny(Set<Arrow2.Style> any) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Arrow2.Style style : any)
+            result = result.or(bitmaps.get(style));
+        return result;
+    }
+
+    private static Set<Arrow2.Style> copyOf(Set<Arrow2.Style> style) {
+        return style.isEmpty() ? EnumSet.noneOf(Arrow2.Style.class) : EnumSet.copyOf(style);
+    }
+
+    public long sizeInBytes() {
+        long size = all.sizeInBytes();
+        for (CompressedBitmap bitmap : bitmaps.values())
+            size += bitmap.sizeInBytes();
+        return size;
+    }
+}
@@ -0,0 +1,55 @@
+package item36;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * "BOLD 와 FILLED 는 있고 DOTTED 는 없는" 화살표 찾기를 전체 스캔과 StyleIndex 로 비교한다.
+ */
+public class StyleIndexTest {
+    private static final int COUNT = 5_000_000;
+
+    public static void main(String[] args) {
+        Arrow2.Style[] styles = Arrow2.Style.values();
+        Random random = new Random(42);
+        List<Arrow2> arrows = new ArrayList<>(COUNT);
+        StyleIndex index = new StyleIndex();
+        for (int id = 0; id < COUNT; id++) {
+            Set<Arrow2.Style> style = EnumSet.noneOf(Arrow2.Style.class);
+            for (Arrow2.Style s : styles) {
+                if (random.nextBoolean())
+                    style.add(s);
+            }
+            Arrow2 arrow = new Arrow2(style);
+            arrows.add(arrow);
+            index.add(id, arrow);
+        }
+        // 색인을 통해 스타일을 바꾸면 비트맵도 함께 갱신된다.
+        index.applyStyle(0, arrows.get(0), EnumSet.of(Arrow2.Style.BOLD, Arrow2.Style.FILLED));
+
+        Set<Arrow2.Style> required = EnumSet.of(Arrow2.Style.BOLD, Arrow2.Style.FILLED);
+        Set<Arrow2.Style> excluded = EnumSet.of(Arrow2.Style.DOTTED);
+
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            int scanned = 0;
+            for (Arrow2 arrow : arrows) {
+                Set<Arrow2.Style> current = arrow.getCurrentStyle();
+                if (current.containsAll(required) && !current.contains(Arrow2.Style.DOTTED))
+                    scanned++;
+            }
+            long scanMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            CompressedBitmap result = index.query(required, excluded);
+            long indexMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("scan: %d (%dms), index: %d (%dms), contains 0: %b%n",
+                    scanned, scanMillis, result.cardinality(), indexMillis, result.contains(0));
+        }
+        System.out.printf("index size: %,d bytes%n", index.sizeInBytes());
+    }
+}
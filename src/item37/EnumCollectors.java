@@ -0,0 +1,103 @@
+package item37;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+/**
+ * 열거 타입 키로 묶는 수집기 모음.
+ * 중간 결과를 ordinal 로 색인한 배열에 모으므로 원소를 해싱하지 않고,
+ * 병렬 스트림에서는 같은 ordinal 의 버킷끼리 이어 붙여 합친다.
+ * Collectors.groupingBy 와 달리 결과 맵에는 원소가 없는 상수도 빈 리스트나 0 으로 모두 들어간다.
+ */
+public final class EnumCollectors {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private EnumCollectors() {
+    }
+
+    public static <T, K extends Enum<K>> Collector<T, ?, Map<K, List<T>>> groupingByEnum(
+            Class<K> keyType, Function<? super T, K> classifier) {
+        return groupingByEnum(keyType, classifier, 0);
+    }
+
+    /**
+     * expectedSize 를 알면 버킷 리스트를 (expectedSize / 키 개수) 크기로 미리 잡아 재할당을 줄인다.
+     * 중간 결과마다 같은 크기로 잡으므로 병렬 스트림에서는 분할 하나가 담을 원소 수를 넘긴다.
+     */
+    public static <T, K extends Enum<K>> Collector<T, ?, Map<K, List<T>>> groupingByEnum(
+            Class<K> keyType, Function<? super T, K> classifier, int expectedSize) {
+        K[] keys = keyType.getEnumConstants();
+        int bucketCapacity = keys.length == 0 ? DEFAULT_CAPACITY : Math.max(DEFAULT_CAPACITY, expectedSize / keys.length);
+        return Collector.<T, List<T>[], Map<K, List<T>>>of(
+                () -> newBuckets(keys.length, bucketCapacity),
+                (buckets, t) -> buckets[classifier.apply(t).ordinal()].add(t),
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++)
+                        left[i].addAll(right[i]);
+                    return left;
+                },
+                buckets -> {
+                    Map<K, List<T>> result = new EnumMap<>(keyType);
+                    for (K key : keys)
+                        result.put(key, buckets[key.ordinal()]);
+                    return result;
+                });
+    }
+
+    public static <T, K extends Enum<K>> Collector<T, ?, Map<K, Long>> countingByEnum(
+            Class<K> keyType, Function<? super T, K> classifier) {
+        K[] keys = keyType.getEnumConstants();
+        return Collector.<T, long[], Map<K, Long>>of(
+                () -> new long[keys.length],
+                (counts, t) -> counts[classifier.apply(t).ordinal()]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++)
+                        left[i] += right[i];
+                    return left;
+                },
+                counts -> {
+                    Map<K, Long> result = new EnumMap<>(keyType);
+                    for (K key : keys)
+                        result.put(key, counts[key.ordinal()]);
+                    return result;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 열거 타입 키로 묶은 뒤 각 버킷을 predicate 결과로 다시 나눈다.
+     * groupingBy(classifier, partitioningBy(predicate)) 와 달리 원소가 없는 상수도 빈 리스트 두 개로 들어간다.
+     */
+    public static <T, K extends Enum<K>> Collector<T, ?, Map<K, Map<Boolean, List<T>>>> partitionByEnum(
+            Class<K> keyType, Function<? super T, K> classifier, Predicate<? super T> predicate) {
+        K[] keys = keyType.getEnumConstants();
+        // [ordinal * 2] 는 false, [ordinal * 2 + 1] 은 true 버킷이다.
+        return Collector.<T, List<T>[], Map<K, Map<Boolean, List<T>>>>of(
+                () -> newBuckets(keys.length * 2, DEFAULT_CAPACITY),
+                (buckets, t) -> buckets[classifier.apply(t).ordinal() * 2 + (predicate.test(t) ? 1 : 0)].add(t),
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++)
+                        left[i].addAll(right[i]);
+                    return left;
+                },
+                buckets -> {
+                    Map<K, Map<Boolean, List<T>>> result = new EnumMap<>(keyType);
+                    for (K key : keys)
+                        result.put(key, Map.of(false, buckets[key.ordinal() * 2], true, buckets[key.ordinal() * 2 + 1]));
+                    return result;
+                });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> List<T>[] newBuckets(int count, int capacity) {
+        List<T>[] buckets = (List<T>[]) new List[count];
+        for (int i = 0; i < count; i++)
+            buckets[i] = new ArrayList<>(capacity);
+        return buckets;
+    }
+}
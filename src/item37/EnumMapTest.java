@@ -3,6 +3,7 @@ package item37;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class EnumMapTest {
@@ -15,6 +16,7 @@ public class EnumMapTest {
 
         List<Plant> garden = Arrays.asList(rice, corn, barley, rosemary);
         usingOrdinalArray(garden);
+        usingEnumCollectors(garden);
     }
 
     public static void usingOrdinalArray(List<Plant> garden) {
@@ -31,4 +33,23 @@ public class EnumMapTest {
             System.out.printf("%s : %s%n", Plant.LifeCycle.values()[i], plantsByLifeCycle[i]);
         }
     }
+
+    // 해시 집합 대신 ordinal 로 색인한 리스트에 모으고, 결과는 EnumMap 으로 돌려받는다.
+    public static void usingEnumCollectors(List<Plant> garden) {
+        Map<Plant.LifeCycle, List<Plant>> plantsByLifeCycle = garden.stream()
+            .collect(EnumCollectors.groupingByEnum(Plant.LifeCycle.class, p -> p.lifeCycle, garden.size()));
+        System.out.println(plantsByLifeCycle);
+
+        Map<Plant.LifeCycle, List<Plant>> parallelPlantsByLifeCycle = garden.parallelStream()
+            .collect(EnumCollectors.groupingByEnum(Plant.LifeCycle.class, p -> p.lifeCycle));
+        System.out.println(parallelPlantsByLifeCycle);
+
+        Map<Plant.LifeCycle, Long> countByLifeCycle = garden.stream()
+            .collect(EnumCollectors.countingByEnum(Plant.LifeCycle.class, p -> p.lifeCycle));
+        System.out.println(countByLifeCycle);
+
+        Map<Plant.LifeCycle, Map<Boolean, List<Plant>>> shortNames = garden.stream()
+            .collect(EnumCollectors.partitionByEnum(Plant.LifeCycle.class, p -> p.lifeCycle, p -> p.name.length() < 3));
+        System.out.println(shortNames);
+    }
 }
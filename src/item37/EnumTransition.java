@@ -0,0 +1,12 @@
+package item37;
+
+/**
+ * 상태 열거 타입 S 사이의 전이를 나타내는 열거 타입이 구현한다.
+ *
+ * @param <S> 상태 열거 타입
+ */
+public interface EnumTransition<S extends Enum<S>> {
+    S source();
+
+    S target();
+}
@@ -0,0 +1,50 @@
+package item37;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * (출발 상태, 도착 상태) 쌍을 전이 값에 대응시키는 표.
+ * 상태 열거 타입의 ordinal 로 평평한 배열의 위치를 계산하므로 조회는 배열 접근 한 번이다.
+ *
+ * @param <S> 상태 열거 타입
+ * @param <T> 전이 타입
+ */
+public final class EnumTransitionTable<S extends Enum<S>, T> {
+    private final int stateCount;
+    private final Object[] table;
+
+    private EnumTransitionTable(int stateCount, Object[] table) {
+        this.stateCount = stateCount;
+        this.table = table;
+    }
+
+    /**
+     * 전이에서 출발/도착 상태를 꺼내는 함수로 표를 만든다.
+     * 같은 (출발, 도착) 쌍에 전이가 둘 이상이면 IllegalArgumentException 을 던진다.
+     */
+    public static <S extends Enum<S>, T> EnumTransitionTable<S, T> of(Class<S> stateType,
+                                                                      T[] transitions,
+                                                                      Function<? super T, S> from,
+                                                                      Function<? super T, S> to) {
+        int stateCount = stateType.getEnumConstants().length;
+        Object[] table = new Object[stateCount * stateCount];
+        for (T transition : transitions) {
+            int index = from.apply(transition).ordinal() * stateCount + to.apply(transition).ordinal();
+            if (table[index] != null)
+                throw new IllegalArgumentException("Duplicate transition: " + table[index] + ", " + transition);
+            table[index] = transition;
+        }
+        return new EnumTransitionTable<>(stateCount, table);
+    }
+
+    /**
+     * from 에서 to 로 가는 전이. 없으면 null 을 반환한다.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(S from, S to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        return (T) table[from.ordinal() * stateCount + to.ordinal()];
+    }
+}
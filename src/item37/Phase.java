@@ -8,7 +8,7 @@ import java.util.stream.Stream;
 public enum Phase {
     SOLID, LIQUID, GAS;
 
-    public enum Transition {
+    public enum Transition implements EnumTransition<Phase> {
         MELT(SOLID, LIQUID),
         FREEZE(LIQUID, SOLID),
         BOIL(LIQUID, GAS),
@@ -23,6 +23,17 @@ public enum Phase {
             this.from = from;
             this.to = to;
         }
+
+        @Override
+        public Phase source() {
+            return from;
+        }
+
+        @Override
+        public Phase target() {
+            return to;
+        }
+
         // 전이 맵 초기화
         private static final Map<Phase, Map<Phase, Transition>> transitionMap = Stream.of(values())
             .collect(Collectors.groupingBy(t -> t.from,
@@ -33,7 +44,15 @@ public enum Phase {
                     () -> new EnumMap<>(Phase.class)))
             );
 
+        // 전이 표 초기화. 조회 시 맵을 두 번 거치지 않고 배열에서 바로 꺼낸다.
+        private static final EnumTransitionTable<Phase, Transition> transitionTable =
+            EnumTransitionTable.of(Phase.class, values(), t -> t.from, t -> t.to);
+
         public static Transition from(Phase from, Phase to) {
+            return transitionTable.get(from, to);
+        }
+
+        static Transition fromUsingMap(Phase from, Phase to) {
             return transitionMap.get(from).get(to);
         }
     }
@@ -0,0 +1,141 @@
+package item37;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 열거 타입으로 선언한 전이를 (현재 상태 ordinal, 이벤트 ordinal) → 다음 상태 ordinal 표로 컴파일한 상태 기계.
+ * 개체들의 상태를 byte[]/short[] 에 ordinal 로 보관하고 이벤트를 묶음으로 적용하며,
+ * 이벤트마다 객체를 할당하지 않는다. 이벤트 ordinal 은 byte 로 보관하므로 이벤트는 127 개까지다.
+ *
+ * @param <S> 상태 열거 타입
+ * @param <E> 전이(이벤트) 열거 타입
+ */
+public final class StateMachine<S extends Enum<S>, E extends Enum<E> & EnumTransition<S>> {
+    private static final short INVALID = -1;
+
+    /**
+     * 전이가 일어날 때 호출된다. 상태와 이벤트는 미리 만들어진 열거 상수로 전달된다.
+     */
+    @FunctionalInterface
+    public interface Listener<S, E> {
+        void onTransition(int entity, S from, E event, S to);
+    }
+
+    private final S[] states;
+    private final E[] events;
+    private final short[] next;
+    private final Listener<S, E>[] listeners;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private StateMachine(Class<S> stateType, Class<E> eventType) {
+        this.states = stateType.getEnumConstants();
+        this.events = eventType.getEnumConstants();
+        this.next = new short[states.length * events.length];
+        this.listeners = (Listener<S, E>[]) new Listener[events.length];
+        Arrays.fill(next, INVALID);
+        for (E event : events)
+            next[event.source().ordinal() * events.length + event.ordinal()] = (short) event.target().ordinal();
+    }
+
+    /**
+     * 전이 열거 타입의 source/target 으로 표를 만든다.
+     */
+    public static <S extends Enum<S>, E extends Enum<E> & EnumTransition<S>> StateMachine<S, E> of(Class<S> stateType,
+                                                                                                 Class<E> eventType) {
+        if (stateType.getEnumConstants().length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Too many states: " + stateType);
+        if (eventType.getEnumConstants().length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Too many events for byte ordinals: " + eventType);
+        return new StateMachine<>(stateType, eventType);
+    }
+
+    /**
+     * 이벤트가 적용될 때 호출할 콜백을 등록한다. 이벤트 하나에 콜백 하나만 둔다.
+     */
+    public StateMachine<S, E> on(E event, Listener<S, E> listener) {
+        listeners[event.ordinal()] = Objects.requireNonNull(listener);
+        return this;
+    }
+
+    /**
+     * 현재 상태에서 이벤트를 적용한 다음 상태. 허용되지 않는 이벤트면 IllegalStateException 을 던진다.
+     * 개체와 무관한 호출이므로 콜백의 entity 는 -1 이다.
+     */
+    public S fire(S state, E event) {
+        int target = targetOf(state.ordinal(), event.ordinal());
+        if (target < 0)
+            throw new IllegalStateException(event + " is not allowed in " + state);
+        notify(-1, state.ordinal(), event.ordinal(), target);
+        return states[target];
+    }
+
+    /**
+     * entities[i] 개체에 eventOrdinals[i] 이벤트를 차례로 적용한다.
+     * 허용되지 않는 이벤트는 건너뛰고 그 개수를 반환한다.
+     * 범위를 벗어난 이벤트 ordinal 이 있으면 아무것도 적용하지 않고 IllegalArgumentException 을 던진다.
+     */
+    public int applyAll(byte[] stateOrdinals, int[] entities, byte[] eventOrdinals, int count) {
+        if (states.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("byte[] cannot hold " + states.length + " state ordinals; use short[]");
+        checkBatch(entities, eventOrdinals, count);
+        int rejected = 0;
+        for (int i = 0; i < count; i++) {
+            int entity = entities[i];
+            int from = stateOrdinals[entity];
+            int target = targetOf(from, eventOrdinals[i]);
+            if (target < 0) {
+                rejected++;
+                continue;
+            }
+            stateOrdinals[entity] = (byte) target;
+            notify(entity, from, eventOrdinals[i], target);
+        }
+        return rejected;
+    }
+
+    /**
+     * 상태가 byte 범위를 넘을 때 쓰는 short[] 판.
+     */
+    public int applyAll(short[] stateOrdinals, int[] entities, byte[] eventOrdinals, int count) {
+        checkBatch(entities, eventOrdinals, count);
+        int rejected = 0;
+        for (int i = 0; i < count; i++) {
+            int entity = entities[i];
+            int from = stateOrdinals[entity];
+            int target = targetOf(from, eventOrdinals[i]);
+            if (target < 0) {
+                rejected++;
+                continue;
+            }
+            stateOrdinals[entity] = (short) target;
+            notify(entity, from, eventOrdinals[i], target);
+        }
+        return rejected;
+    }
+
+    public S state(int ordinal) {
+        return states[ordinal];
+    }
+
+    private void notify(int entity, int from, int event, int to) {
+        Listener<S, E> listener = listeners[event];
+        if (listener != null)
+            listener.onTransition(entity, states[from], events[event], states[to]);
+    }
+
+    // 허용되지 않는 전이면 -1
+    private int targetOf(int state, int event) {
+        return next[state * events.length + event];
+    }
+
+    private void checkBatch(int[] entities, byte[] eventOrdinals, int count) {
+        if (count < 0 || count > entities.length || count > eventOrdinals.length)
+            throw new IndexOutOfBoundsException("count " + count + " exceeds batch arrays");
+        for (int i = 0; i < count; i++) {
+            if (eventOrdinals[i] < 0 || eventOrdinals[i] >= events.length)
+                throw new IllegalArgumentException("eventOrdinals[" + i + "] = " + eventOrdinals[i]
+                        + " is not an ordinal of " + events.length + " events");
+        }
+    }
+}
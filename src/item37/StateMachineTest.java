@@ -0,0 +1,38 @@
+package item37;
+
+import java.util.Random;
+
+/**
+ * Phase 상태 기계로 수백만 개체의 상태 전이를 묶음 처리한다.
+ */
+public class StateMachineTest {
+    private static final int ENTITIES = 1_000_000;
+    private static final int EVENTS = 10_000_000;
+
+    public static void main(String[] args) {
+        long[] melted = {0};
+        StateMachine<Phase, Phase.Transition> machine = StateMachine.of(Phase.class, Phase.Transition.class)
+                .on(Phase.Transition.MELT, (entity, from, event, to) -> melted[0]++);
+
+        System.out.println(machine.fire(Phase.SOLID, Phase.Transition.MELT)); // LIQUID
+
+        byte[] states = new byte[ENTITIES]; // 모두 SOLID 에서 시작
+        int[] entities = new int[EVENTS];
+        byte[] events = new byte[EVENTS];
+        Random random = new Random(42);
+        Phase.Transition[] transitions = Phase.Transition.values();
+        for (int i = 0; i < EVENTS; i++) {
+            entities[i] = random.nextInt(ENTITIES);
+            events[i] = (byte) transitions[random.nextInt(transitions.length)].ordinal();
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int rejected = machine.applyAll(states, entities, events, EVENTS);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%,d events in %dms (%,.0f events/s), rejected=%,d%n",
+                    EVENTS, elapsed / 1_000_000, EVENTS * 1e9 / elapsed, rejected);
+        }
+        System.out.println("melted: " + melted[0] + ", entity 0: " + machine.state(states[0]));
+    }
+}
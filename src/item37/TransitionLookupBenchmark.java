@@ -0,0 +1,32 @@
+package item37;
+
+/**
+ * 중첩 EnumMap 조회와 EnumTransitionTable 배열 조회의 비용을 비교한다.
+ */
+public class TransitionLookupBenchmark {
+    private static final int ITERATIONS = 100_000_000;
+
+    public static void main(String[] args) {
+        Phase[] phases = Phase.values();
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int mapHits = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                if (Phase.Transition.fromUsingMap(phases[i % 3], phases[(i / 3) % 3]) != null)
+                    mapHits++;
+            }
+            long mapNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int tableHits = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                if (Phase.Transition.from(phases[i % 3], phases[(i / 3) % 3]) != null)
+                    tableHits++;
+            }
+            long tableNanos = System.nanoTime() - start;
+
+            System.out.printf("map: %.2fns/op (%d), table: %.2fns/op (%d)%n",
+                    (double) mapNanos / ITERATIONS, mapHits, (double) tableNanos / ITERATIONS, tableHits);
+        }
+    }
+}
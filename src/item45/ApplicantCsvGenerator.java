@@ -0,0 +1,46 @@
+package item45;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * ApplicantCsvReader 형식의 합성 지원자 파일을 만든다.
+ * 사용법: ApplicantCsvGenerator &lt;파일&gt; &lt;지원자 수&gt;
+ */
+public class ApplicantCsvGenerator {
+    private static final String[] DEPARTMENTS = {"개발", "디자인", "영업", "인사", "기획"};
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "applicants.csv");
+        long count = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        generate(file, count, 42);
+        System.out.printf("%,d applicants -> %s (%,d bytes)%n", count, file, Files.size(file));
+    }
+
+    public static void generate(Path file, long count, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long id = 0; id < count; id++) {
+                writer.write(Long.toString(id));
+                writer.write(",applicant");
+                writer.write(Long.toString(id));
+                writer.write(',');
+                writer.write(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+                int careers = random.nextInt(3);
+                for (int c = 0; c < careers; c++) {
+                    writer.write(c == 0 ? ',' : ';');
+                    writer.write("company" + random.nextInt(100));
+                    writer.write('|');
+                    writer.write(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+                    writer.write('|');
+                    writer.write(Integer.toString(random.nextInt(3650)));
+                }
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package item45;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 지원자 CSV 파일을 메모리 맵으로 조금씩 읽으며 레코드마다 핸들러를 호출한다.
+ * 파일을 줄 경계에서 parallelism 개의 구간으로 나눠 병렬로 처리하고, 각 구간은 WINDOW_SIZE 만큼씩만 맵핑하므로
+ * 파일 크기와 관계없이 힙 사용량이 일정하다. List&lt;Applicant&gt; 를 만들지 않는다.
+ *
+ * <p>한 줄의 형식은 다음과 같다. 필드에는 쉼표, 세미콜론, '|' 가 들어가지 않는다고 가정한다.
+ * <pre>id,name,department,company|department|workingDays;company|department|workingDays;...</pre>
+ */
+public final class ApplicantCsvReader {
+    private static final int WINDOW_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * 레코드 하나를 받는다. workingDays 배열은 재사용되므로 앞의 careerCount 개만 유효하고, 보관하면 안 된다.
+     */
+    public interface RecordHandler {
+        void handle(long id, String department, int[] workingDays, int careerCount);
+    }
+
+    private ApplicantCsvReader() {
+    }
+
+    /**
+     * 구간마다 handlerFactory 로 만든 핸들러를 하나씩 사용하고, 파일 순서대로 된 핸들러 목록을 돌려준다.
+     * 읽다가 실패하면 이미 만든 핸들러 중 AutoCloseable 인 것을 닫고 예외를 던진다.
+     */
+    public static <H extends RecordHandler> List<H> read(Path file, int parallelism, Supplier<H> handlerFactory)
+            throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        List<H> handlers = new ArrayList<>();
+        try {
+            return read(file, parallelism, handlerFactory, handlers);
+        } catch (Throwable t) {
+            for (H handler : handlers) {
+                if (handler instanceof AutoCloseable) {
+                    try {
+                        ((AutoCloseable) handler).close();
+                    } catch (Exception e) {
+                        t.addSuppressed(e);
+                    }
+                }
+            }
+            throw t;
+        }
+    }
+
+    private static <H extends RecordHandler> List<H> read(Path file, int parallelism, Supplier<H> handlerFactory,
+                                                          List<H> handlers) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = segmentBounds(channel, parallelism);
+            for (int i = 0; i + 1 < bounds.length; i++)
+                handlers.add(handlerFactory.get());
+            if (handlers.isEmpty())
+                return handlers; // 빈 파일
+
+            ExecutorService executor = Executors.newFixedThreadPool(handlers.size());
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < handlers.size(); i++) {
+                    long from = bounds[i];
+                    long to = bounds[i + 1];
+                    H handler = handlers.get(i);
+                    futures.add(executor.submit(() -> {
+                        readSegment(channel, from, to, handler);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures)
+                    future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + file, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+                throw new IOException("Failed to read " + file, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+            return handlers;
+        }
+    }
+
+    // 대략 같은 크기로 나눈 뒤 각 경계를 다음 줄의 시작으로 옮긴다.
+    private static long[] segmentBounds(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[parallelism + 1];
+        bounds[parallelism] = size;
+        for (int i = 1; i < parallelism; i++) {
+            long position = Math.max(bounds[i - 1], size * i / parallelism);
+            bounds[i] = nextLineStart(channel, position, size);
+        }
+        return Arrays.stream(bounds).distinct().toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0)
+            return 0;
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position - 1);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n')
+                    return position + i;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void readSegment(FileChannel channel, long from, long to, RecordHandler handler) throws IOException {
+        LineParser parser = new LineParser(handler);
+        long position = from;
+        while (position < to) {
+            long length = Math.min(WINDOW_SIZE, to - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    parser.parse(window, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (position + length == to) {
+                if (lineStart < length)
+                    parser.parse(window, lineStart, (int) length); // 마지막 줄에 개행이 없는 경우
+                return;
+            }
+            if (lineStart == 0)
+                throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + position);
+            position += lineStart;
+        }
+    }
+
+    /**
+     * 한 구간을 담당하는 파서. 부서 이름은 바이트가 같으면 같은 String 을 재사용한다.
+     */
+    private static final class LineParser {
+        private final RecordHandler handler;
+        private int[] workingDays = new int[8];
+        private final Map<DepartmentKey, String> departments = new HashMap<>();
+        // 조회용 키. 바이트를 복사해 넣고 재사용하므로 이미 본 부서면 할당하지 않는다.
+        private final DepartmentKey probe = new DepartmentKey(new byte[64], 0);
+
+        LineParser(RecordHandler handler) {
+            this.handler = handler;
+        }
+
+        void parse(MappedByteBuffer buffer, int from, int to) throws IOException {
+            if (to > from && buffer.get(to - 1) == '\r')
+                to--;
+            if (to == from)
+                return;
+
+            int idEnd = indexOf(buffer, ',', from, to);
+            int nameEnd = indexOf(buffer, ',', idEnd + 1, to);
+            int departmentEnd = indexOf(buffer, ',', nameEnd + 1, to);
+            if (departmentEnd < 0)
+                departmentEnd = to; // 경력이 없는 지원자
+            if (idEnd < 0 || nameEnd < 0)
+                throw new IOException("Malformed applicant line: " + new String(bytes(buffer, from, to), StandardCharsets.UTF_8));
+
+            long id = parseLong(buffer, from, idEnd);
+            String department = department(buffer, nameEnd + 1, departmentEnd);
+
+            int careerCount = 0;
+            int careerStart = departmentEnd + 1;
+            while (careerStart < to) {
+                int careerEnd = indexOf(buffer, ';', careerStart, to);
+                if (careerEnd < 0)
+                    careerEnd = to;
+                int daysStart = lastIndexOf(buffer, '|', careerStart, careerEnd) + 1;
+                if (careerCount == workingDays.length)
+                    workingDays = Arrays.copyOf(workingDays, careerCount * 2);
+                workingDays[careerCount++] = (int) parseLong(buffer, daysStart, careerEnd);
+                careerStart = careerEnd + 1;
+            }
+            handler.handle(id, department, workingDays, careerCount);
+        }
+
+        private String department(MappedByteBuffer buffer, int from, int to) {
+            probe.load(buffer, from, to);
+            String name = departments.get(probe);
+            if (name == null) {
+                byte[] bytes = bytes(buffer, from, to);
+                name = new String(bytes, StandardCharsets.UTF_8);
+                departments.put(new DepartmentKey(bytes, bytes.length), name);
+            }
+            return name;
+        }
+
+        private static byte[] bytes(MappedByteBuffer buffer, int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return bytes;
+        }
+
+        private static int indexOf(MappedByteBuffer buffer, char c, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == c)
+                    return i;
+            }
+            return -1;
+        }
+
+        private static int lastIndexOf(MappedByteBuffer buffer, char c, int from, int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (buffer.get(i) == c)
+                    return i;
+            }
+            return from - 1;
+        }
+
+        private static long parseLong(MappedByteBuffer buffer, int from, int to) throws IOException {
+            if (from >= to)
+                throw new IOException("Empty number field");
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9)
+                    throw new IOException("Not a number at byte " + i + ": " + (char) buffer.get(i));
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 부서 이름의 UTF-8 바이트를 내용으로 비교하는 HashMap 키.
+     */
+    private static final class DepartmentKey {
+        private byte[] bytes;
+        private int length;
+        private int hash;
+
+        DepartmentKey(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+            this.hash = hash(bytes, length);
+        }
+
+        void load(MappedByteBuffer buffer, int from, int to) {
+            length = to - from;
+            if (bytes.length < length)
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            buffer.get(from, bytes, 0, length);
+            hash = hash(bytes, length);
+        }
+
+        private static int hash(byte[] bytes, int length) {
+            int h = 1;
+            for (int i = 0; i < length; i++)
+                h = 31 * h + bytes[i];
+            return h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DepartmentKey))
+                return false;
+            DepartmentKey other = (DepartmentKey) o;
+            return length == other.length && Arrays.equals(bytes, 0, length, other.bytes, 0, other.length);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package item45;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 
 public class ApplicantServiceImpl {
+    // 이 개수 이하로 쪼개지면 더 나누지 않고 한 스레드에서 처리한다.
+    private static final int PARALLEL_THRESHOLD = 10_000;
 
     public List<BlindInterviewee> pickIntervieweeFromApplicants(List<Applicant> applicantList) {
         return applicantList.stream()
@@ -17,13 +25,86 @@ public class ApplicantServiceImpl {
                 .collect(Collectors.toList());
     }
 
+    public List<BlindInterviewee> pickIntervieweeFromApplicantsInParallel(List<Applicant> applicantList) {
+        return pickIntervieweeFromApplicantsInParallel(applicantList, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * pickIntervieweeFromApplicants 와 같은 순서의 결과를 fork-join 으로 만든다.
+     * 전체를 비교 정렬하는 대신 부서별 버킷에 입력 순서대로 담고, 몇 개 안 되는 부서 이름만 정렬해 이어 붙인다.
+     * 안정 정렬과 마찬가지로 같은 부서 안에서는 입력 순서가 유지된다.
+     */
+    public List<BlindInterviewee> pickIntervieweeFromApplicantsInParallel(List<Applicant> applicantList, ForkJoinPool pool) {
+        List<Applicant> applicants = applicantList instanceof RandomAccess ? applicantList : new ArrayList<>(applicantList);
+        Map<String, List<BlindInterviewee>> byDepartment = pool.invoke(new DepartmentBucketTask(applicants, 0, applicants.size()));
+
+        List<String> departments = new ArrayList<>(byDepartment.keySet());
+        departments.sort(Comparator.naturalOrder());
+        int total = 0;
+        for (List<BlindInterviewee> bucket : byDepartment.values())
+            total += bucket.size();
+
+        List<BlindInterviewee> result = new ArrayList<>(total);
+        for (String department : departments)
+            result.addAll(byDepartment.get(department));
+        return result;
+    }
+
+    /**
+     * 경력이 하나도 없으면 Double.NaN 을 반환한다.
+     * 지원자가 계속 들어오는 상황에서 자주 조회한다면 WorkingDaysStatistics 를 사용한다.
+     */
     public double getAverageWorkingDays(List<Applicant> applicantList) {
         return applicantList.stream()
                 .flatMapToInt(applicant -> applicant.getCareers().stream()
                         .mapToInt(Career::getWorkingDays))
                 .average()
-                .getAsDouble();
+                .orElse(Double.NaN);
     }
 
+    /**
+     * [from, to) 구간의 경력자를 부서별 버킷에 담는다. 왼쪽 구간의 버킷 뒤에 오른쪽 구간을 이어 붙여 순서를 지킨다.
+     */
+    @SuppressWarnings("serial")
+    private static final class DepartmentBucketTask extends RecursiveTask<Map<String, List<BlindInterviewee>>> {
+        private final List<Applicant> applicants;
+        private final int from;
+        private final int to;
+
+        DepartmentBucketTask(List<Applicant> applicants, int from, int to) {
+            this.applicants = applicants;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, List<BlindInterviewee>> compute() {
+            if (to - from <= PARALLEL_THRESHOLD)
+                return bucket();
 
+            int mid = (from + to) >>> 1;
+            DepartmentBucketTask left = new DepartmentBucketTask(applicants, from, mid);
+            left.fork();
+            Map<String, List<BlindInterviewee>> right = new DepartmentBucketTask(applicants, mid, to).compute();
+            Map<String, List<BlindInterviewee>> merged = left.join();
+            right.forEach((department, bucket) -> merged.merge(department, bucket, (a, b) -> {
+                a.addAll(b);
+                return a;
+            }));
+            return merged;
+        }
+
+        private Map<String, List<BlindInterviewee>> bucket() {
+            Map<String, List<BlindInterviewee>> buckets = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                Applicant applicant = applicants.get(i);
+                if (applicant.getCareers().isEmpty())
+                    continue;
+                // 빌더 객체를 거치지 않고 바로 생성한다.
+                buckets.computeIfAbsent(applicant.getDepartment(), department -> new ArrayList<>())
+                        .add(new BlindInterviewee(applicant.getId(), applicant.getDepartment()));
+            }
+            return buckets;
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package item45;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지원자와 경력을 객체 그래프 대신 열(column) 배열로 저장한다.
+ * id 는 long[], 지원 부서는 사전(dictionary) 코드로 int[] 에, 경력 근무일은 지원자별 시작 위치(offset)와 함께
+ * 하나의 int[] 로 평평하게 저장해 집계가 연속된 배열을 순서대로 훑도록 한다.
+ */
+public class ColumnarApplicantStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] ids = new long[DEFAULT_CAPACITY];
+    private int[] departmentCodes = new int[DEFAULT_CAPACITY];
+    // i 번째 지원자의 경력은 workingDays[careerOffsets[i] .. careerOffsets[i + 1]) 이다.
+    private int[] careerOffsets = new int[DEFAULT_CAPACITY + 1];
+    private int[] workingDays = new int[DEFAULT_CAPACITY];
+    private int size = 0;
+
+    private final List<String> departments = new ArrayList<>();
+    private final Map<String, Integer> departmentCodeByName = new HashMap<>();
+
+    public static ColumnarApplicantStore from(List<Applicant> applicants) {
+        ColumnarApplicantStore store = new ColumnarApplicantStore();
+        for (Applicant applicant : applicants)
+            store.add(applicant);
+        return store;
+    }
+
+    public void add(Applicant applicant) {
+        List<Career> careers = applicant.getCareers();
+        add(applicant.getId(), applicant.getDepartment(), careers.stream().mapToInt(Career::getWorkingDays).toArray());
+    }
+
+    public void add(long id, String department, int[] careerWorkingDays) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+            careerOffsets = Arrays.copyOf(careerOffsets, capacity + 1);
+        }
+        int careerEnd = careerOffsets[size];
+        if (careerEnd + careerWorkingDays.length > workingDays.length)
+            workingDays = Arrays.copyOf(workingDays, Math.max(workingDays.length * 2, careerEnd + careerWorkingDays.length));
+        System.arraycopy(careerWorkingDays, 0, workingDays, careerEnd, careerWorkingDays.length);
+
+        ids[size] = id;
+        departmentCodes[size] = departmentCodeByName.computeIfAbsent(department, d -> {
+            departments.add(d);
+            return departments.size() - 1;
+        });
+        careerOffsets[size + 1] = careerEnd + careerWorkingDays.length;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ApplicantServiceImpl.pickIntervieweeFromApplicants 와 같은 결과.
+     * 부서 이름 순서로 매긴 순위를 키로 계수 정렬(counting sort)하므로 같은 부서 안에서는 입력 순서가 유지된다.
+     */
+    public List<BlindInterviewee> pickInterviewee() {
+        int[] rankOfCode = departmentRanks();
+        int[] start = new int[departments.size() + 1];
+        for (int i = 0; i < size; i++) {
+            if (careerOffsets[i + 1] > careerOffsets[i])
+                start[rankOfCode[departmentCodes[i]] + 1]++;
+        }
+        for (int r = 0; r < departments.size(); r++)
+            start[r + 1] += start[r];
+
+        int[] order = new int[start[departments.size()]];
+        for (int i = 0; i < size; i++) {
+            if (careerOffsets[i + 1] > careerOffsets[i])
+                order[start[rankOfCode[departmentCodes[i]]]++] = i;
+        }
+
+        List<BlindInterviewee> result = new ArrayList<>(order.length);
+        for (int i : order)
+            result.add(new BlindInterviewee(ids[i], departments.get(departmentCodes[i])));
+        return result;
+    }
+
+    /**
+     * ApplicantServiceImpl.getAverageWorkingDays 와 같은 결과. 경력이 없으면 Double.NaN 이다.
+     */
+    public double averageWorkingDays() {
+        int careerCount = careerOffsets[size];
+        if (careerCount == 0)
+            return Double.NaN;
+        long sum = 0;
+        for (int i = 0; i < careerCount; i++)
+            sum += workingDays[i];
+        return (double) sum / careerCount;
+    }
+
+    private int[] departmentRanks() {
+        Integer[] codes = new Integer[departments.size()];
+        for (int i = 0; i < codes.length; i++)
+            codes[i] = i;
+        Arrays.sort(codes, (a, b) -> departments.get(a).compareTo(departments.get(b)));
+        int[] rankOfCode = new int[codes.length];
+        for (int rank = 0; rank < codes.length; rank++)
+            rankOfCode[codes[rank]] = rank;
+        return rankOfCode;
+    }
+}
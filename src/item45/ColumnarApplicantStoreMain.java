@@ -0,0 +1,37 @@
+package item45;
+
+import java.util.List;
+
+/**
+ * 객체 그래프(ApplicantServiceImpl)와 열 저장소(ColumnarApplicantStore)의 집계 시간을 비교한다.
+ */
+public class ColumnarApplicantStoreMain {
+
+    public static void main(String[] args) {
+        List<Applicant> applicants = ParallelPickMain.generate(2_000_000);
+        ApplicantServiceImpl service = new ApplicantServiceImpl();
+        ColumnarApplicantStore store = ColumnarApplicantStore.from(applicants);
+
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            double objectAverage = service.getAverageWorkingDays(applicants);
+            long objectAverageMicros = (System.nanoTime() - start) / 1_000;
+
+            start = System.nanoTime();
+            double columnarAverage = store.averageWorkingDays();
+            long columnarAverageMicros = (System.nanoTime() - start) / 1_000;
+
+            start = System.nanoTime();
+            List<BlindInterviewee> objectPick = service.pickIntervieweeFromApplicants(applicants);
+            long objectPickMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            List<BlindInterviewee> columnarPick = store.pickInterviewee();
+            long columnarPickMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("average: object %dus / columnar %dus (%.2f = %.2f), pick: object %dms / columnar %dms (%d = %d)%n",
+                    objectAverageMicros, columnarAverageMicros, objectAverage, columnarAverage,
+                    objectPickMillis, columnarPickMillis, objectPick.size(), columnarPick.size());
+        }
+    }
+}
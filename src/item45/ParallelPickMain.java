@@ -0,0 +1,63 @@
+package item45;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 순차 스트림과 fork-join 부서별 버킷 방식의 면접자 선정 결과와 시간을 비교한다.
+ */
+public class ParallelPickMain {
+    private static final String[] DEPARTMENTS = {"개발", "디자인", "영업", "인사", "기획"};
+
+    public static void main(String[] args) {
+        List<Applicant> applicants = generate(2_000_000);
+        ApplicantServiceImpl service = new ApplicantServiceImpl();
+
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            List<BlindInterviewee> sequential = service.pickIntervieweeFromApplicants(applicants);
+            long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            List<BlindInterviewee> parallel = service.pickIntervieweeFromApplicantsInParallel(applicants);
+            long parallelMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("sequential: %dms, parallel: %dms, same order: %b%n",
+                    sequentialMillis, parallelMillis, sameOrder(sequential, parallel));
+        }
+    }
+
+    static List<Applicant> generate(int count) {
+        Random random = new Random(42);
+        List<Applicant> applicants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Career> careers = new ArrayList<>();
+            int careerCount = random.nextInt(3);
+            for (int j = 0; j < careerCount; j++) {
+                careers.add(Career.builder()
+                        .company("company" + random.nextInt(100))
+                        .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                        .workingDays(random.nextInt(3650))
+                        .build());
+            }
+            applicants.add(Applicant.builder()
+                    .id(i)
+                    .name("applicant" + i)
+                    .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                    .careers(careers)
+                    .build());
+        }
+        return applicants;
+    }
+
+    private static boolean sameOrder(List<BlindInterviewee> expected, List<BlindInterviewee> actual) {
+        if (expected.size() != actual.size())
+            return false;
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i).getId() != actual.get(i).getId())
+                return false;
+        }
+        return true;
+    }
+}
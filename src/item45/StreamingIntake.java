@@ -0,0 +1,157 @@
+package item45;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * ApplicantCsvReader 의 한 구간을 받아 평균 근무일과 면접자 선정을 함께 계산하는 핸들러.
+ * 면접자는 메모리에 모으지 않고 구간·부서별 임시 파일에 흘려 쓴 뒤,
+ * writeInterviewees 가 부서 이름 순, 같은 부서 안에서는 파일 순서대로 이어 붙인다.
+ * 결과 순서는 ApplicantServiceImpl.pickIntervieweeFromApplicants 와 같다.
+ */
+public class StreamingIntake implements ApplicantCsvReader.RecordHandler, Closeable {
+    private final Path spillDirectory;
+    private final Map<String, BufferedWriter> spillByDepartment = new HashMap<>();
+    private final Map<String, Path> spillFileByDepartment = new HashMap<>();
+    private long careerCount = 0;
+    private long workingDaysSum = 0;
+
+    public StreamingIntake(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void handle(long id, String department, int[] workingDays, int careerCount) {
+        for (int i = 0; i < careerCount; i++)
+            workingDaysSum += workingDays[i];
+        this.careerCount += careerCount;
+
+        if (careerCount == 0)
+            return;
+        try {
+            BufferedWriter writer = spillByDepartment.get(department);
+            if (writer == null) {
+                // 파일을 먼저 등록해 두어 writer 를 열다 실패해도 close 에서 지워진다.
+                Path file = Files.createTempFile(spillDirectory, "interviewee-", ".csv");
+                spillFileByDepartment.put(department, file);
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                spillByDepartment.put(department, writer);
+            }
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(department);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 모든 구간을 합친 평균 근무일. 경력이 없으면 Double.NaN 이다.
+     */
+    public static double averageWorkingDays(List<StreamingIntake> segments) {
+        long count = 0;
+        long sum = 0;
+        for (StreamingIntake segment : segments) {
+            count += segment.careerCount;
+            sum += segment.workingDaysSum;
+        }
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    /**
+     * 면접자를 "id,department" 줄로 선정 순서대로 쓰고 임시 파일을 지운다. 쓴 면접자 수를 반환한다.
+     * 도중에 실패해도 모든 구간을 닫고 임시 파일을 지운다.
+     */
+    public static long writeInterviewees(List<StreamingIntake> segments, Writer out) throws IOException {
+        try {
+            TreeSet<String> departments = new TreeSet<>();
+            for (StreamingIntake segment : segments) {
+                segment.flush();
+                departments.addAll(segment.spillFileByDepartment.keySet());
+            }
+
+            long written = 0;
+            for (String department : departments) {
+                for (StreamingIntake segment : segments) {
+                    Path file = segment.spillFileByDepartment.get(department);
+                    if (file == null)
+                        continue;
+                    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            out.write(line);
+                            out.write('\n');
+                            written++;
+                        }
+                    }
+                }
+            }
+            return written;
+        } finally {
+            closeAll(segments);
+        }
+    }
+
+    private static void closeAll(List<StreamingIntake> segments) throws IOException {
+        IOException failure = null;
+        for (StreamingIntake segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                failure = addTo(failure, e);
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    private void flush() throws IOException {
+        for (BufferedWriter writer : spillByDepartment.values())
+            writer.flush();
+    }
+
+    /**
+     * 임시 파일을 모두 닫고 지운다. 하나가 실패해도 나머지는 계속 정리한 뒤 첫 예외를 던진다.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (BufferedWriter writer : spillByDepartment.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                failure = addTo(failure, e);
+            }
+        }
+        for (Path file : spillFileByDepartment.values()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failure = addTo(failure, e);
+            }
+        }
+        spillByDepartment.clear();
+        spillFileByDepartment.clear();
+        if (failure != null)
+            throw failure;
+    }
+
+    private static IOException addTo(IOException failure, IOException e) {
+        if (failure == null)
+            return e;
+        failure.addSuppressed(e);
+        return failure;
+    }
+}
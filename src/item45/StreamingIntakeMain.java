@@ -0,0 +1,40 @@
+package item45;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 합성 지원자 파일을 만들고 스트리밍으로 평균 근무일과 면접자 선정을 계산해 초당 처리 레코드 수를 잰다.
+ */
+public class StreamingIntakeMain {
+
+    public static void main(String[] args) throws IOException {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 5_000_000;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        Path directory = Files.createTempDirectory("intake");
+        Path input = directory.resolve("applicants.csv");
+        Path output = directory.resolve("interviewees.csv");
+        ApplicantCsvGenerator.generate(input, count, 42);
+
+        long start = System.nanoTime();
+        List<StreamingIntake> segments = ApplicantCsvReader.read(input, parallelism, () -> new StreamingIntake(directory));
+        double average = StreamingIntake.averageWorkingDays(segments);
+        long interviewees;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            interviewees = StreamingIntake.writeInterviewees(segments, writer);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("input %,d bytes, average=%.2f, interviewees=%,d%n", Files.size(input), average, interviewees);
+        System.out.printf("%,d records in %dms (%,.0f records/s)%n", count, elapsed / 1_000_000, count * 1e9 / elapsed);
+
+        Files.delete(input);
+        Files.delete(output);
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,178 @@
+package item45;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지원자가 들어오고 나갈 때마다 경력 근무일 통계를 갱신해 두는 집계 뷰.
+ * 갱신은 경력 하나당 O(1) 이고, 조회는 락 없이 현재 값을 읽는다.
+ * 여러 값을 한 시점에 맞춰 읽지는 않으므로 갱신 중에 읽은 평균은 근사값일 수 있다.
+ *
+ * <p>지원자마다 추가된 부서를 기억해 두고, 추가하지 않은 지원자를 빼거나 같은 지원자를 두 번 넣으면
+ * IllegalArgumentException 을 던진다. 빼는 지원자의 경력은 추가할 때와 같아야 한다.
+ */
+public class WorkingDaysStatistics {
+    // 근무일 32 일 미만은 정확히, 그 이상은 상대 오차 1/32 이내로 센다. 부서당 864 칸이다.
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Integer.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final Stats total = new Stats();
+    private final Map<String, Stats> byDepartment = new ConcurrentHashMap<>();
+    private final Map<Long, String> departmentById = new ConcurrentHashMap<>();
+
+    public void add(Applicant applicant) {
+        // 잘못된 경력이 하나라도 있으면 아무것도 반영하지 않는다.
+        checkCareers(applicant);
+        if (departmentById.putIfAbsent(applicant.getId(), applicant.getDepartment()) != null)
+            throw new IllegalArgumentException("Applicant was already added: " + applicant.getId());
+        Stats department = byDepartment.computeIfAbsent(applicant.getDepartment(), d -> new Stats());
+        for (Career career : applicant.getCareers()) {
+            total.add(career.getWorkingDays());
+            department.add(career.getWorkingDays());
+        }
+    }
+
+    public void remove(Applicant applicant) {
+        checkCareers(applicant);
+        if (!departmentById.remove(applicant.getId(), applicant.getDepartment()))
+            throw new IllegalArgumentException("Applicant was not added to " + applicant.getDepartment()
+                    + ": " + applicant.getId());
+        Stats department = byDepartment.get(applicant.getDepartment());
+        for (Career career : applicant.getCareers()) {
+            total.remove(career.getWorkingDays());
+            department.remove(career.getWorkingDays());
+        }
+    }
+
+    public Stats total() {
+        return total;
+    }
+
+    /**
+     * 지원 부서별 통계. 한 번도 추가되지 않은 부서면 빈 통계를 돌려준다.
+     */
+    public Stats department(String department) {
+        return byDepartment.getOrDefault(department, Stats.EMPTY);
+    }
+
+    public Set<String> departments() {
+        return Collections.unmodifiableSet(byDepartment.keySet());
+    }
+
+    private static void checkCareers(Applicant applicant) {
+        for (Career career : applicant.getCareers()) {
+            if (career.getWorkingDays() < 0)
+                throw new IllegalArgumentException("workingDays must not be negative: " + career.getWorkingDays()
+                        + " (applicant " + applicant.getId() + ")");
+        }
+    }
+
+    // SUB_BUCKETS 보다 작은 값은 그대로, 큰 값은 (자릿수, 상위 비트) 로 구간을 정한다.
+    private static int indexOf(int value) {
+        if (value < SUB_BUCKETS)
+            return value;
+        int shift = Integer.SIZE - Integer.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        int subBucket = (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static int lowestValueOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        return (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    private static int highestValueOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return (int) (((subBucket + 1) << shift) - 1);
+    }
+
+    public static final class Stats {
+        private static final Stats EMPTY = new Stats();
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        // 근무일 구간별 개수. 삭제가 있어도 최솟값/최댓값/백분위수를 구간 단위로 구할 수 있다.
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private Stats() {
+        }
+
+        private void add(int workingDays) {
+            count.increment();
+            sum.add(workingDays);
+            histogram.incrementAndGet(indexOf(workingDays));
+        }
+
+        private void remove(int workingDays) {
+            count.decrement();
+            sum.add(-workingDays);
+            histogram.decrementAndGet(indexOf(workingDays));
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long sum() {
+            return sum.sum();
+        }
+
+        public OptionalDouble average() {
+            long n = count.sum();
+            return n == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum.sum() / n);
+        }
+
+        /**
+         * 가장 작은 근무일이 속한 구간의 하한.
+         */
+        public OptionalInt min() {
+            for (int i = 0; i < histogram.length(); i++) {
+                if (histogram.get(i) > 0)
+                    return OptionalInt.of(lowestValueOf(i));
+            }
+            return OptionalInt.empty();
+        }
+
+        /**
+         * 가장 큰 근무일이 속한 구간의 상한.
+         */
+        public OptionalInt max() {
+            for (int i = histogram.length() - 1; i >= 0; i--) {
+                if (histogram.get(i) > 0)
+                    return OptionalInt.of(highestValueOf(i));
+            }
+            return OptionalInt.empty();
+        }
+
+        /**
+         * 근무일의 백분위수(0 ~ 100). 해당 구간의 상한을 돌려주므로 실제 값보다 최대 1/32 클 수 있다.
+         */
+        public OptionalInt percentile(double percentile) {
+            if (percentile < 0 || percentile > 100)
+                throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+            long n = count.sum();
+            if (n <= 0)
+                return OptionalInt.empty();
+            long target = Math.max(1, (long) Math.ceil(n * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < histogram.length(); i++) {
+                seen += histogram.get(i);
+                if (seen >= target)
+                    return OptionalInt.of(highestValueOf(i));
+            }
+            return max();
+        }
+    }
+}
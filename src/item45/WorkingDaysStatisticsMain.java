@@ -0,0 +1,27 @@
+package item45;
+
+import java.util.List;
+
+public class WorkingDaysStatisticsMain {
+
+    public static void main(String[] args) {
+        List<Applicant> applicants = ParallelPickMain.generate(100_000);
+        WorkingDaysStatistics statistics = new WorkingDaysStatistics();
+        applicants.forEach(statistics::add);
+
+        WorkingDaysStatistics.Stats total = statistics.total();
+        System.out.printf("count=%d avg=%.1f min=%d max=%d p50=%d p99=%d%n",
+                total.count(), total.average().orElse(Double.NaN), total.min().orElse(0), total.max().orElse(0),
+                total.percentile(50).orElse(0), total.percentile(99).orElse(0));
+        System.out.printf("stream avg=%.1f%n", new ApplicantServiceImpl().getAverageWorkingDays(applicants));
+
+        // 지원자가 빠지면 다시 집계하지 않고 바로 반영된다.
+        applicants.subList(0, 50_000).forEach(statistics::remove);
+        for (String department : statistics.departments()) {
+            WorkingDaysStatistics.Stats stats = statistics.department(department);
+            System.out.printf("%s count=%d avg=%.1f%n", department, stats.count(), stats.average().orElse(Double.NaN));
+        }
+
+        System.out.println(new ApplicantServiceImpl().getAverageWorkingDays(List.of())); // NaN
+    }
+}
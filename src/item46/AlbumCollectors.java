@@ -0,0 +1,51 @@
+package item46;
+
+import java.util.stream.Collector;
+
+/**
+ * Album 스트림을 고정 크기 스케치로 요약하는 수집기.
+ * 아티스트 수와 관계없이 메모리가 일정하고, 병렬 스트림에서는 분할별 스케치를 merge 로 합친다.
+ * 오차 한계는 각 스케치 클래스의 문서를 따른다.
+ */
+public final class AlbumCollectors {
+
+    private AlbumCollectors() {
+    }
+
+    /**
+     * groupingBy(Album::getArtist, counting()) 의 근사. 아티스트별 앨범 수를 Count-Min 스케치로 센다.
+     */
+    public static Collector<Album, ?, CountMinSketch<Artist>> countingByArtist(double epsilon, double delta) {
+        return Collector.of(
+                () -> new CountMinSketch<Artist>(epsilon, delta, AlbumCollectors::hash),
+                (sketch, album) -> sketch.add(album.getArtist(), 1),
+                CountMinSketch::merge,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 판매량 합계 기준 상위 아티스트. capacity 개의 카운터만 유지한다.
+     */
+    public static Collector<Album, ?, SpaceSaving<Artist>> topArtistsBySales(int capacity) {
+        return Collector.of(
+                () -> new SpaceSaving<Artist>(capacity),
+                (summary, album) -> summary.add(album.getArtist(), album.getSales()),
+                SpaceSaving::merge,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 서로 다른 아티스트 수.
+     */
+    public static Collector<Album, ?, HyperLogLog<Artist>> distinctArtists(int precision) {
+        return Collector.of(
+                () -> new HyperLogLog<Artist>(precision, AlbumCollectors::hash),
+                (hll, album) -> hll.add(album.getArtist()),
+                HyperLogLog::merge,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    static long hash(Artist artist) {
+        return Hashing.hash64(artist.getName());
+    }
+}
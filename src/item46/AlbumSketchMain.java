@@ -0,0 +1,39 @@
+package item46;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 정확한 groupingBy 집계와 스케치 수집기의 결과를 비교한다.
+ */
+public class AlbumSketchMain {
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        // 소수의 인기 아티스트와 긴 꼬리
+        List<Album> albums = IntStream.range(0, 2_000_000)
+                .mapToObj(i -> {
+                    int artist = (int) Math.floor(Math.pow(200_000, random.nextDouble()));
+                    return new Album(new Artist("artist" + artist), "album" + i, (long) random.nextInt(1000));
+                })
+                .collect(Collectors.toList());
+
+        Map<Artist, Long> exactCounts = albums.stream().collect(Collectors.groupingBy(Album::getArtist, Collectors.counting()));
+        CountMinSketch<Artist> counts = albums.parallelStream().collect(AlbumCollectors.countingByArtist(0.0001, 0.01));
+        Artist top = new Artist("artist1");
+        System.out.printf("artist1 albums: exact=%d, estimate=%d (bound +%d)%n",
+                exactCounts.get(top), counts.estimate(top), (long) (0.0001 * counts.total()));
+
+        HyperLogLog<Artist> distinct = albums.parallelStream().collect(AlbumCollectors.distinctArtists(14));
+        System.out.printf("distinct artists: exact=%d, estimate=%d%n", exactCounts.size(), distinct.estimate());
+
+        SpaceSaving<Artist> topSales = albums.parallelStream().collect(AlbumCollectors.topArtistsBySales(1000));
+        Map<Artist, Long> exactSales = albums.stream()
+                .collect(Collectors.groupingBy(Album::getArtist, Collectors.summingLong(Album::getSales)));
+        for (SpaceSaving.Counter<Artist> counter : topSales.top(5))
+            System.out.printf("%s exact=%d%n", counter, exactSales.get(counter.getItem()));
+    }
+}
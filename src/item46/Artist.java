@@ -1,8 +1,10 @@
 package item46;
 
+import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 @Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY) // groupingBy 마다 이름을 다시 해싱하지 않는다.
 public class Artist {
     String name;
 }
@@ -0,0 +1,60 @@
+package item46;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 아티스트 이름마다 하나의 정규 Artist 인스턴스와 0부터 시작하는 정수 id 를 부여한다.
+ * 카탈로그를 읽으며 중복 Artist 를 만들지 않게 하고, id 로 배열을 색인해 해싱 없이 집계할 수 있게 한다.
+ * 이미 등록된 이름의 조회는 락 없이 동작한다.
+ */
+public final class ArtistRegistry {
+    private final Map<String, Integer> idByName = new ConcurrentHashMap<>();
+    private volatile Artist[] artists = new Artist[16];
+    private int size = 0; // this 로 보호
+
+    public int idOf(String name) {
+        Integer id = idByName.get(name);
+        return id != null ? id : register(name);
+    }
+
+    public int idOf(Artist artist) {
+        return idOf(artist.getName());
+    }
+
+    public Artist intern(String name) {
+        return artist(idOf(name));
+    }
+
+    public Artist intern(Artist artist) {
+        return intern(artist.getName());
+    }
+
+    public Artist artist(int id) {
+        Artist[] snapshot = artists;
+        if (id < 0 || id >= snapshot.length || snapshot[id] == null)
+            throw new IllegalArgumentException("Unknown artist id: " + id);
+        return snapshot[id];
+    }
+
+    /**
+     * 등록된 아티스트 수. id 는 [0, size()) 범위이므로 집계 배열의 크기로 쓸 수 있다.
+     */
+    public int size() {
+        return idByName.size();
+    }
+
+    // 배열에 먼저 쓰고 맵에 공개하므로, 맵에서 id 를 본 스레드는 배열의 원소도 본다.
+    private synchronized int register(String name) {
+        Integer existing = idByName.get(name);
+        if (existing != null)
+            return existing;
+        if (size == artists.length)
+            artists = Arrays.copyOf(artists, size * 2);
+        int id = size++;
+        artists[id] = new Artist(name);
+        idByName.put(name, id);
+        return id;
+    }
+}
@@ -0,0 +1,21 @@
+package item46;
+
+import lombok.Value;
+
+/**
+ * Album 의 압축 표현. 아티스트는 ArtistRegistry 의 id 로, 판매량은 박싱하지 않은 long 으로 가진다.
+ */
+@Value
+public class CompactAlbum {
+    int artistId;
+    String title;
+    long sales;
+
+    public static CompactAlbum of(Album album, ArtistRegistry registry) {
+        return new CompactAlbum(registry.idOf(album.getArtist()), album.getTitle(), album.getSales());
+    }
+
+    public Album toAlbum(ArtistRegistry registry) {
+        return new Album(registry.artist(artistId), title, sales);
+    }
+}
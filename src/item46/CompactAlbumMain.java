@@ -0,0 +1,54 @@
+package item46;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Album + groupingBy 집계와 CompactAlbum + 배열 집계의 시간을 비교한다.
+ */
+public class CompactAlbumMain {
+    private static final int ALBUMS = 3_000_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        ArtistRegistry registry = new ArtistRegistry();
+        List<Album> albums = new ArrayList<>(ALBUMS);
+        List<CompactAlbum> compactAlbums = new ArrayList<>(ALBUMS);
+        for (int i = 0; i < ALBUMS; i++) {
+            // 카탈로그에서 읽은 것처럼 아티스트마다 새 인스턴스를 만든다.
+            Artist artist = new Artist("artist" + random.nextInt(50_000));
+            Album album = new Album(artist, "album" + i, (long) random.nextInt(1_000_000));
+            albums.add(album);
+            compactAlbums.add(CompactAlbum.of(album, registry));
+        }
+        System.out.println("distinct artists: " + registry.size());
+        System.out.println("interned: " + (registry.intern(new Artist("artist1")) == registry.intern("artist1")));
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Map<Artist, Long> counts = albums.stream().collect(groupingBy(Album::getArtist, counting()));
+            Map<Artist, Album> topHits = albums.stream()
+                    .collect(toMap(Album::getArtist, a -> a, BinaryOperator.maxBy(Comparator.comparing(Album::getSales))));
+            long mapMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            long[] compactCounts = CompactAlbums.countByArtist(compactAlbums, registry);
+            CompactAlbum[] compactTopHits = CompactAlbums.topHitByArtist(compactAlbums, registry);
+            long arrayMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Artist artist = registry.intern("artist7");
+            int id = registry.idOf(artist);
+            System.out.printf("groupingBy: %dms, array: %dms, artist7 count %d = %d, top hit %s = %s%n",
+                    mapMillis, arrayMillis, counts.get(artist), compactCounts[id],
+                    topHits.get(artist).getSales(), compactTopHits[id].getSales());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package item46;
+
+import java.util.List;
+
+/**
+ * 아티스트 id 로 배열을 색인하는 CompactAlbum 집계.
+ * groupingBy(Album::getArtist, ...) 와 같은 결과를 해싱과 박싱 없이 만든다.
+ */
+public final class CompactAlbums {
+
+    private CompactAlbums() {
+    }
+
+    /**
+     * counts[artistId] = 그 아티스트의 앨범 수.
+     */
+    public static long[] countByArtist(List<CompactAlbum> albums, ArtistRegistry registry) {
+        long[] counts = new long[registry.size()];
+        for (CompactAlbum album : albums)
+            counts[album.getArtistId()]++;
+        return counts;
+    }
+
+    /**
+     * topHits[artistId] = 그 아티스트에서 가장 많이 팔린 앨범. 앨범이 없으면 null 이다.
+     */
+    public static CompactAlbum[] topHitByArtist(List<CompactAlbum> albums, ArtistRegistry registry) {
+        CompactAlbum[] topHits = new CompactAlbum[registry.size()];
+        for (CompactAlbum album : albums) {
+            CompactAlbum current = topHits[album.getArtistId()];
+            if (current == null || album.getSales() > current.getSales())
+                topHits[album.getArtistId()] = album;
+        }
+        return topHits;
+    }
+}
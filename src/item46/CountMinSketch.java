@@ -0,0 +1,66 @@
+package item46;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Count-Min 스케치. 키마다 상태를 두지 않고 depth × width 고정 크기 카운터로 빈도를 추정한다.
+ *
+ * <p>오차 한계: width = ⌈e / ε⌉, depth = ⌈ln(1 / δ)⌉ 이면 추정값은 실제 빈도 이상이고,
+ * 확률 1 - δ 이상으로 (실제 빈도 + ε × 전체 합) 이하이다.
+ */
+public class CountMinSketch<T> {
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private final ToLongFunction<? super T> hasher;
+    private long total = 0;
+
+    public CountMinSketch(double epsilon, double delta, ToLongFunction<? super T> hasher) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1)
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1): " + epsilon + ", " + delta);
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[width * depth];
+        this.hasher = hasher;
+    }
+
+    public void add(T item, long count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        long hash = hasher.applyAsLong(item);
+        for (int row = 0; row < depth; row++)
+            counters[row * width + column(hash, row)] += count;
+        total += count;
+    }
+
+    public long estimate(T item) {
+        long hash = hasher.applyAsLong(item);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++)
+            min = Math.min(min, counters[row * width + column(hash, row)]);
+        return min;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 같은 ε, δ 로 만든 스케치를 더한다. 병렬 스트림의 분할 결과를 합칠 때 쓴다.
+     */
+    public CountMinSketch<T> merge(CountMinSketch<T> other) {
+        if (width != other.width || depth != other.depth)
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        for (int i = 0; i < counters.length; i++)
+            counters[i] += other.counters[i];
+        total += other.total;
+        return this;
+    }
+
+    // 64비트 해시의 두 절반으로 행마다 다른 해시를 만든다 (Kirsch-Mitzenmacher).
+    private int column(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+    }
+}
@@ -0,0 +1,29 @@
+package item46;
+
+/**
+ * 스케치에서 쓰는 64비트 해시. String.hashCode 는 32비트라 수억 개의 키에서 충돌이 잦다.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    // FNV-1a 로 문자를 섞은 뒤 murmur3 finalizer 로 비트를 고르게 퍼뜨린다.
+    static long hash64(CharSequence s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
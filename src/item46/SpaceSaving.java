@@ -0,0 +1,185 @@
+package item46;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 상위 k 추정기. 카운터를 capacity 개만 유지하고,
+ * 가득 찬 상태에서 새 원소가 오면 가장 작은 카운터를 물려받게 한다.
+ *
+ * <p>오차 한계: 전체 가중치 합을 N 이라 하면 빈도가 N / capacity 를 넘는 원소는 반드시 남아 있고,
+ * 각 추정값은 실제보다 크거나 같으며 그 차이는 error(원소) ≤ N / capacity 이다.
+ */
+public class SpaceSaving<T> {
+
+    public static final class Counter<T> {
+        private final T item;
+        private final long count;
+        private final long error;
+
+        Counter(T item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 추정값이 실제보다 클 수 있는 최대 양.
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return item + "=" + count + "(±" + error + ")";
+        }
+    }
+
+    private final int capacity;
+    // 카운트 기준 최소 힙. index 로 원소의 힙 위치를 찾아 O(log capacity) 로 갱신한다.
+    private final Object[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<T, Integer> index = new HashMap<>();
+    private int size = 0;
+    private long total = 0;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    public void add(T item, long weight) {
+        if (weight < 0)
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        total += weight;
+        Integer position = index.get(item);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+        } else if (size < capacity) {
+            items[size] = item;
+            counts[size] = weight;
+            errors[size] = 0;
+            index.put(item, size);
+            siftUp(size++);
+        } else {
+            // 가장 작은 카운터를 물려받는다. 물려받은 값이 곧 최대 오차다.
+            index.remove(items[0]);
+            items[0] = item;
+            errors[0] = counts[0];
+            counts[0] += weight;
+            index.put(item, 0);
+            siftDown(0);
+        }
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 추정 가중치가 큰 순서로 최대 k 개.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Counter<T>> top(int k) {
+        List<Counter<T>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            result.add(new Counter<>((T) items[i], counts[i], errors[i]));
+        result.sort(Comparator.comparingLong((Counter<T> c) -> c.count).reversed());
+        return result.subList(0, Math.min(k, result.size()));
+    }
+
+    /**
+     * 같은 capacity 의 요약을 합친다 (Agarwal 등의 mergeable summaries).
+     * 한쪽에 없는 원소는 그쪽 최소 카운터만큼 있었을 수 있으므로 그 값을 더해 과대 추정을 유지한다.
+     */
+    @SuppressWarnings("unchecked")
+    public SpaceSaving<T> merge(SpaceSaving<T> other) {
+        Map<T, long[]> merged = new HashMap<>();
+        long minThis = size == capacity ? counts[0] : 0;
+        long minOther = other.size == other.capacity ? other.counts[0] : 0;
+        for (int i = 0; i < size; i++)
+            merged.put((T) items[i], new long[]{counts[i] + minOther, errors[i] + minOther});
+        for (int i = 0; i < other.size; i++) {
+            long[] existing = merged.get(other.items[i]);
+            if (existing != null) {
+                existing[0] += other.counts[i] - minOther;
+                existing[1] += other.errors[i] - minOther;
+            } else {
+                merged.put((T) other.items[i], new long[]{other.counts[i] + minThis, other.errors[i] + minThis});
+            }
+        }
+
+        List<Map.Entry<T, long[]>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<T, long[]> e) -> e.getValue()[0]).reversed());
+        index.clear();
+        size = 0;
+        for (Map.Entry<T, long[]> entry : entries.subList(0, Math.min(capacity, entries.size()))) {
+            items[size] = entry.getKey();
+            counts[size] = entry.getValue()[0];
+            errors[size] = entry.getValue()[1];
+            index.put(entry.getKey(), size);
+            siftUp(size++);
+        }
+        total += other.total;
+        return this;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (counts[parent] <= counts[i])
+                return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest])
+                smallest = left;
+            if (right < size && counts[right] < counts[smallest])
+                smallest = right;
+            if (smallest == i)
+                return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        index.put((T) items[a], a);
+        index.put((T) items[b], b);
+    }
+}
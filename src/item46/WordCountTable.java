@@ -0,0 +1,189 @@
+package item46;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 단어(UTF-8 바이트) → long 빈도를 세는 선형 탐사 해시 표.
+ * 단어를 바이트 그대로 비교하므로 이미 있는 단어를 셀 때는 String 도, 박싱된 Long 도 만들지 않는다.
+ * 한 스레드 전용이며, 스레드별 표를 merge 로 합친다.
+ */
+public class WordCountTable {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private byte[][] words = new byte[1024][];
+    private int[] hashes = new int[1024];
+    private long[] counts = new long[1024];
+    private int size = 0;
+
+    public void add(byte[] buffer, int from, int to) {
+        add(buffer, from, to, hash(buffer, from, to), 1, false);
+    }
+
+    /**
+     * buffer 의 [from, to) 를 절대 위치로 읽어 센다. 메모리 맵 버퍼를 힙으로 복사하지 않고 바로 셀 때 쓴다.
+     * 새 단어일 때만 그 바이트를 배열로 복사해 보관한다.
+     */
+    public void add(ByteBuffer buffer, int from, int to) {
+        add(buffer, from, to, hash(buffer, from, to));
+    }
+
+    // 단어를 훑으며 31 * h + b 로 누적한 값(초깃값 1)을 넘기면 바이트를 다시 읽지 않는다.
+    void add(ByteBuffer buffer, int from, int to, int rawHash) {
+        int hash = mix(rawHash);
+        int mask = words.length - 1;
+        int length = to - from;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            byte[] word = words[i];
+            if (word == null) {
+                word = new byte[length];
+                buffer.get(from, word);
+                words[i] = word;
+                hashes[i] = hash;
+                counts[i] = 1;
+                if (++size > words.length * LOAD_FACTOR)
+                    resize();
+                return;
+            }
+            if (hashes[i] == hash && word.length == length && equals(word, buffer, from)) {
+                counts[i]++;
+                return;
+            }
+        }
+    }
+
+    public void merge(WordCountTable other) {
+        for (int i = 0; i < other.words.length; i++) {
+            byte[] word = other.words[i];
+            if (word != null)
+                add(word, 0, word.length, other.hashes[i], other.counts[i], true);
+        }
+    }
+
+    public long get(String word) {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        int mask = words.length - 1;
+        int hash = hash(bytes, 0, bytes.length);
+        for (int i = hash & mask; words[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && Arrays.equals(words[i], bytes))
+                return counts[i];
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(ObjLongConsumer<String> action) {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != null)
+                action.accept(new String(words[i], StandardCharsets.UTF_8), counts[i]);
+        }
+    }
+
+    /**
+     * 빈도 상위 k 개 단어를 많은 순으로 돌려준다. 크기 k 의 최소 힙만 유지한다.
+     */
+    public List<Map.Entry<String, Long>> topK(int k) {
+        if (k <= 0)
+            return List.of();
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, Comparator.comparingLong(i -> counts[i]));
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] == null)
+                continue;
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (counts[i] > counts[heap.peek()]) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<Map.Entry<String, Long>> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int i = heap.poll();
+            result.add(new AbstractMap.SimpleImmutableEntry<>(new String(words[i], StandardCharsets.UTF_8), counts[i]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // owned 가 true 면 buffer 전체가 단어이고 이 표가 그대로 보관해도 된다.
+    private void add(byte[] buffer, int from, int to, int hash, long count, boolean owned) {
+        int mask = words.length - 1;
+        int length = to - from;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            byte[] word = words[i];
+            if (word == null) {
+                words[i] = owned ? buffer : Arrays.copyOfRange(buffer, from, to);
+                hashes[i] = hash;
+                counts[i] = count;
+                if (++size > words.length * LOAD_FACTOR)
+                    resize();
+                return;
+            }
+            if (hashes[i] == hash && word.length == length && Arrays.equals(word, 0, length, buffer, from, to)) {
+                counts[i] += count;
+                return;
+            }
+        }
+    }
+
+    private void resize() {
+        byte[][] oldWords = words;
+        int[] oldHashes = hashes;
+        long[] oldCounts = counts;
+        int capacity = oldWords.length * 2;
+        words = new byte[capacity][];
+        hashes = new int[capacity];
+        counts = new long[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldWords.length; j++) {
+            if (oldWords[j] == null)
+                continue;
+            int i = oldHashes[j] & mask;
+            while (words[i] != null)
+                i = (i + 1) & mask;
+            words[i] = oldWords[j];
+            hashes[i] = oldHashes[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+
+    private static boolean equals(byte[] word, ByteBuffer buffer, int from) {
+        for (int i = 0; i < word.length; i++) {
+            if (word[i] != buffer.get(from + i))
+                return false;
+        }
+        return true;
+    }
+
+    // 바이트 배열 판과 같은 값을 내야 merge 와 get 이 같은 칸을 찾는다.
+    private static int hash(ByteBuffer buffer, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++)
+            h = 31 * h + buffer.get(i);
+        return mix(h);
+    }
+
+    private static int hash(byte[] buffer, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++)
+            h = 31 * h + buffer[i];
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
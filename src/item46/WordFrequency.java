@@ -0,0 +1,126 @@
+package item46;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 큰 텍스트 파일의 단어 빈도를 센다.
+ * 파일을 공백 경계에서 parallelism 개 구간으로 나누고, 각 스레드가 자기 구간을 메모리 맵으로 읽어
+ * 자기 WordCountTable 에 센 뒤 마지막에 합친다. 맵 버퍼는 힙으로 복사하지 않고 절대 위치로 바로 읽는다.
+ * 단어는 ASCII 공백 문자로 구분한다.
+ */
+public final class WordFrequency {
+    private static final int WINDOW_SIZE = 16 * 1024 * 1024;
+
+    private WordFrequency() {
+    }
+
+    public static WordCountTable count(Path file, int parallelism) throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> segments = new ArrayList<>();
+            long from = 0;
+            for (int i = 1; i <= parallelism && from < size; i++) {
+                long to = i == parallelism ? size : Math.max(from, nextWhitespace(channel, size * i / parallelism, size));
+                if (to > from)
+                    segments.add(new long[]{from, to});
+                from = to;
+            }
+
+            WordCountTable result = new WordCountTable();
+            if (segments.isEmpty())
+                return result;
+            ExecutorService executor = Executors.newFixedThreadPool(segments.size());
+            try {
+                List<Future<WordCountTable>> futures = new ArrayList<>();
+                for (long[] segment : segments)
+                    futures.add(executor.submit(() -> countSegment(channel, segment[0], segment[1])));
+                for (Future<WordCountTable> future : futures)
+                    result.merge(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while counting " + file, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+                throw new IOException("Failed to count " + file, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+            return result;
+        }
+    }
+
+    // position 이후 첫 공백 위치. 구간 경계가 단어 한가운데 놓이지 않게 한다.
+    private static long nextWhitespace(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++) {
+                if (isWhitespace(buffer.get(i)))
+                    return position + i;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static WordCountTable countSegment(FileChannel channel, long from, long to) throws IOException {
+        WordCountTable table = new WordCountTable();
+        long position = from;
+        while (position < to) {
+            int length = (int) Math.min(WINDOW_SIZE, to - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == to;
+
+            int wordStart = -1;
+            int hash = 1;
+            int consumed = length;
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                if (isWhitespace(b)) {
+                    if (wordStart >= 0) {
+                        table.add(window, wordStart, i, hash);
+                        wordStart = -1;
+                    }
+                } else {
+                    if (wordStart < 0) {
+                        wordStart = i;
+                        hash = 1;
+                    }
+                    hash = 31 * hash + b;
+                }
+            }
+            if (wordStart >= 0) {
+                if (last) {
+                    table.add(window, wordStart, length, hash);
+                } else if (wordStart == 0) {
+                    throw new IOException("Word longer than " + WINDOW_SIZE + " bytes at offset " + position);
+                } else {
+                    consumed = wordStart; // 창 끝에 걸린 단어는 다음 창에서 다시 읽는다.
+                }
+            }
+            position += consumed;
+        }
+        return table;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+}
@@ -0,0 +1,59 @@
+package item46;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Scanner.tokens() + groupingBy(counting()) 수집기와 WordFrequency 의 처리 시간을 비교한다.
+ */
+public class WordFrequencyMain {
+
+    public static void main(String[] args) throws IOException {
+        long words = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000;
+        Path file = Files.createTempFile("words", ".txt");
+        generate(file, words);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Map<String, Long> freq;
+            try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8);
+                 Stream<String> tokens = scanner.tokens()) {
+                freq = tokens.collect(groupingBy(word -> word, counting()));
+            }
+            long collectorMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            WordCountTable table = WordFrequency.count(file, Runtime.getRuntime().availableProcessors());
+            long engineMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("collector: %dms (%d words), engine: %dms (%d words), same count for 'w0': %b%n",
+                    collectorMillis, freq.size(), engineMillis, table.size(), freq.get("w0") == table.get("w0"));
+            if (round == 2)
+                System.out.println("top 5: " + table.topK(5));
+        }
+        Files.delete(file);
+    }
+
+    // 지프 분포에 가까운 단어들로 채운다.
+    private static void generate(Path file, long words) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long i = 0; i < words; i++) {
+                int rank = (int) Math.floor(Math.pow(100_000, random.nextDouble()));
+                writer.write('w');
+                writer.write(Integer.toString(rank - 1));
+                writer.write(i % 16 == 15 ? '\n' : ' ');
+            }
+        }
+    }
+}
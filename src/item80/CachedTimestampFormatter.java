@@ -0,0 +1,154 @@
+package item80;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * "yyyy-MM-dd HH:mm:ss" 형식 전용 타임스탬프 포매터.
+ * DateTimeFormatter.ofPattern(...).format(LocalDateTime.now()) 는 호출마다 패턴을 해석하고 여러 객체를 만든다.
+ * 이 형식은 초 단위로만 바뀌므로 초마다 한 번 렌더링해 캐시하고, 같은 초 안의 호출은 캐시를 그대로 돌려준다.
+ * 날짜 부분은 날이 바뀔 때만 다시 계산하고 시각은 숫자를 char[] 에 직접 쓴다.
+ *
+ * <p>캐시 항목은 불변 객체를 volatile 필드로 바꿔 끼우므로 여러 스레드가 락 없이 함께 써도 안전하다.
+ * 다만 서로 다른 초를 번갈아 포매팅하면 매번 다시 렌더링한다. 연도는 0001 ~ 9999 만 지원한다.
+ */
+public class CachedTimestampFormatter {
+    public static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+    public static final int LENGTH = PATTERN.length();
+    private static final int DATE_LENGTH = "yyyy-MM-dd ".length();
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final ZoneRules rules;
+    private volatile Offset offset;
+    private volatile Entry entry;
+
+    public CachedTimestampFormatter() {
+        this(ZoneId.systemDefault());
+    }
+
+    public CachedTimestampFormatter(ZoneId zone) {
+        this.rules = zone.getRules();
+        this.entry = render(Math.floorDiv(System.currentTimeMillis(), 1000), null);
+    }
+
+    public String now() {
+        return format(System.currentTimeMillis());
+    }
+
+    public String format(long epochMilli) {
+        return entryFor(epochMilli).text;
+    }
+
+    public void appendTo(long epochMilli, StringBuilder sb) {
+        sb.append(entryFor(epochMilli).chars);
+    }
+
+    /**
+     * dest[offset] 부터 LENGTH 글자를 쓰고 다음 위치를 반환한다. 같은 초 안에서는 할당하지 않는다.
+     */
+    public int formatTo(long epochMilli, char[] dest, int offset) {
+        System.arraycopy(entryFor(epochMilli).chars, 0, dest, offset, LENGTH);
+        return offset + LENGTH;
+    }
+
+    /**
+     * dest[offset] 부터 ASCII 로 LENGTH 바이트를 쓰고 다음 위치를 반환한다. 같은 초 안에서는 할당하지 않는다.
+     */
+    public int formatTo(long epochMilli, byte[] dest, int offset) {
+        System.arraycopy(entryFor(epochMilli).bytes, 0, dest, offset, LENGTH);
+        return offset + LENGTH;
+    }
+
+    private Entry entryFor(long epochMilli) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000);
+        Entry current = entry;
+        if (current.epochSecond == epochSecond)
+            return current;
+        Entry rendered = render(epochSecond, current);
+        // 지난 초를 포매팅한 호출이 더 최근 항목을 덮어쓰지 않도록 더 새로운 초일 때만 바꿔 끼운다.
+        // 경쟁으로 최신 항목을 놓쳐도 다음 호출이 다시 렌더링할 뿐 결과는 틀리지 않는다.
+        if (epochSecond > current.epochSecond)
+            entry = rendered;
+        return rendered;
+    }
+
+    private Entry render(long epochSecond, Entry previous) {
+        long localSecond = epochSecond + offsetSeconds(epochSecond);
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(localSecond, SECONDS_PER_DAY);
+
+        char[] chars = new char[LENGTH];
+        if (previous != null && previous.epochDay == epochDay) {
+            System.arraycopy(previous.chars, 0, chars, 0, DATE_LENGTH);
+        } else {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            if (date.getYear() < 1 || date.getYear() > 9999)
+                throw new DateTimeException("Year out of range [1, 9999]: " + date.getYear());
+            writeDigits(chars, 0, date.getYear(), 4);
+            chars[4] = '-';
+            writeDigits(chars, 5, date.getMonthValue(), 2);
+            chars[7] = '-';
+            writeDigits(chars, 8, date.getDayOfMonth(), 2);
+            chars[10] = ' ';
+        }
+        writeDigits(chars, 11, secondOfDay / 3600, 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, secondOfDay / 60 % 60, 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, secondOfDay % 60, 2);
+        return new Entry(epochSecond, epochDay, chars);
+    }
+
+    // 오프셋은 다음 일광 절약 시간 전환 전까지 그대로이므로 그 구간 동안 재사용한다.
+    private int offsetSeconds(long epochSecond) {
+        Offset current = offset;
+        if (current == null || epochSecond < current.from || epochSecond >= current.until) {
+            current = new Offset(rules, epochSecond);
+            offset = current;
+        }
+        return current.seconds;
+    }
+
+    private static void writeDigits(char[] dest, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            dest[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static final class Entry {
+        private final long epochSecond;
+        private final long epochDay;
+        private final char[] chars;
+        private final byte[] bytes;
+        private final String text;
+
+        private Entry(long epochSecond, long epochDay, char[] chars) {
+            this.epochSecond = epochSecond;
+            this.epochDay = epochDay;
+            this.chars = chars;
+            this.bytes = new byte[chars.length];
+            for (int i = 0; i < chars.length; i++)
+                bytes[i] = (byte) chars[i];
+            this.text = new String(chars);
+        }
+    }
+
+    private static final class Offset {
+        private final int seconds;
+        private final long from;
+        private final long until;
+
+        private Offset(ZoneRules rules, long epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            this.seconds = rules.getOffset(instant).getTotalSeconds();
+            this.from = epochSecond;
+            this.until = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package item80;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongToIntFunction;
+
+/**
+ * ExecutorFramework 의 타임스탬프 출력 방식별로 호출당 시간과 할당량을 비교한다.
+ * 먼저 CachedTimestampFormatter 의 결과가 DateTimeFormatter 와 같은지 확인한다.
+ */
+public class CachedTimestampFormatterMain {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(CachedTimestampFormatter.PATTERN);
+    private static final int OPERATIONS = 2_000_000;
+
+    public static void main(String[] args) {
+        verify(ZoneId.systemDefault());
+        verify(ZoneId.of("America/New_York"));
+        verify(ZoneId.of("Asia/Seoul"));
+
+        CachedTimestampFormatter cached = new CachedTimestampFormatter();
+        char[] chars = new char[CachedTimestampFormatter.LENGTH];
+        byte[] bytes = new byte[CachedTimestampFormatter.LENGTH];
+        for (int round = 0; round < 3; round++) {
+            System.out.println("--- round " + round + " ---");
+            measure("ofPattern().format(now())", millis ->
+                    DateTimeFormatter.ofPattern(CachedTimestampFormatter.PATTERN).format(LocalDateTime.now()).length());
+            measure("FORMATTER.format(now())  ", millis -> FORMATTER.format(LocalDateTime.now()).length());
+            measure("cached.format(millis)    ", millis -> cached.format(millis).length());
+            measure("cached.formatTo(char[])  ", millis -> cached.formatTo(millis, chars, 0));
+            measure("cached.formatTo(byte[])  ", millis -> cached.formatTo(millis, bytes, 0));
+        }
+    }
+
+    // 임의의 시각과 일광 절약 시간 전환 부근의 연속된 초를 DateTimeFormatter 결과와 비교한다.
+    private static void verify(ZoneId zone) {
+        CachedTimestampFormatter cached = new CachedTimestampFormatter(zone);
+        DateTimeFormatter formatter = FORMATTER.withZone(zone);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int mismatches = 0;
+        int checked = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long millis = random.nextLong(0, 4_102_444_800_000L);
+            mismatches += cached.format(millis).equals(formatter.format(Instant.ofEpochMilli(millis))) ? 0 : 1;
+            checked++;
+        }
+        long transition = zone.getRules().nextTransition(Instant.now()) == null
+                ? System.currentTimeMillis()
+                : zone.getRules().nextTransition(Instant.now()).toEpochSecond() * 1000;
+        for (long millis = transition - 7_200_000; millis < transition + 7_200_000; millis += 250) {
+            mismatches += cached.format(millis).equals(formatter.format(Instant.ofEpochMilli(millis))) ? 0 : 1;
+            checked++;
+        }
+        System.out.printf("%-20s checked %,d timestamps, mismatches %d%n", zone, checked, mismatches);
+    }
+
+    private static void measure(String name, LongToIntFunction format) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++)
+            sink += format.applyAsInt(System.currentTimeMillis());
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%s %,6d ns/op %,8.1f B/op (%d)%n",
+                name, elapsed / OPERATIONS, (double) allocated / OPERATIONS, sink % 10);
+    }
+}
@@ -1,18 +1,15 @@
 package item80;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class ExecutorFramework {
+    private static final CachedTimestampFormatter TIMESTAMP = new CachedTimestampFormatter();
 
     public static void main(String[] args) {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(100, TimeUnit.MILLISECONDS, 1);
 
-        executor.scheduleAtFixedRate(() -> {
-            System.out.println(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
-                                                .format(LocalDateTime.now()));
+        scheduler.scheduleAtFixedRate(() -> {
+            System.out.println(TIMESTAMP.now());
         }, 0, 2, TimeUnit.SECONDS);
     }
 }
@@ -0,0 +1,310 @@
+package item80;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 계층형 타이밍 휠 스케줄러. ScheduledThreadPoolExecutor 는 락으로 보호되는 힙(DelayedWorkQueue)에
+ * 작업을 넣고 빼므로 타임아웃이 수십만 개가 되면 등록과 취소가 O(log n) 경쟁 지점이 된다.
+ * 여기서는 등록과 취소를 락 없는 큐에 넣기만 하고(O(1)), 틱 스레드 하나가 휠의 칸에 옮겨 단다.
+ *
+ * <p>휠은 WHEEL_SIZE 칸짜리 LEVELS 단으로, 한 틱이 1ms 라면 약 4.6 시간까지 휠에 바로 걸리고
+ * 그보다 먼 작업은 overflow 칸에서 기다린다. 틱마다 만료된 작업을 모아 작업자 풀에 묶음으로 넘긴다.
+ * 실행 시각은 틱 단위로 맞춰지므로 최대 한 틱 늦게 실행될 수 있다.
+ */
+public class TimingWheelScheduler {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * WHEEL_SIZE;
+    // 한 틱에 만료된 작업이 적으면 작업자 하나에 몰아서 넘겨 큐 오버헤드를 줄인다.
+    private static final int MIN_CHUNK = 16;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int workerThreads;
+    private final ExecutorService workers;
+    private final Thread ticker;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    // 아래는 틱 스레드만 접근한다.
+    private final Timeout[] heads = new Timeout[OVERFLOW + 1];
+    private final List<Timeout> expired = new ArrayList<>();
+    private long currentTick = 0;
+
+    private volatile boolean running = true;
+
+    public TimingWheelScheduler(long tickDuration, TimeUnit unit, int workerThreads) {
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        if (workerThreads <= 0)
+            throw new IllegalArgumentException("workerThreads must be positive: " + workerThreads);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.workerThreads = workerThreads;
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::runTicker, "timing-wheel-ticker");
+        this.ticker.start();
+    }
+
+    public Timeout schedule(Runnable command, long delay, TimeUnit unit) {
+        return submit(new Timeout(this, command, deadlineAfter(unit.toNanos(Math.max(0, delay))), 0));
+    }
+
+    /**
+     * ScheduledExecutorService.scheduleAtFixedRate 와 같은 의미로 동작한다.
+     * 다음 실행 시각은 이전 예정 시각에 period 를 더해 정하므로 실행이 늦어져도 누적 오차가 생기지 않고,
+     * 실행이 period 보다 오래 걸리면 다음 실행은 늦게 시작할 뿐 겹쳐 실행되지 않는다.
+     * 실행 중 예외가 나면 이후 실행은 취소된다.
+     */
+    public Timeout scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0)
+            throw new IllegalArgumentException("period must be positive: " + period);
+        return submit(new Timeout(this, command, deadlineAfter(unit.toNanos(Math.max(0, initialDelay))), unit.toNanos(period)));
+    }
+
+    /**
+     * 틱 스레드를 멈추고 작업자 풀을 종료한다. 아직 만료되지 않은 작업은 실행되지 않는다.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        ticker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        return workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    // 시작 시각 기준의 예정 시각. toNanos 는 Long.MAX_VALUE 로 포화되므로 더할 때도 넘치지 않게 포화시킨다.
+    private long deadlineAfter(long delayNanos) {
+        return saturatedAdd(System.nanoTime() - startNanos, delayNanos);
+    }
+
+    private Timeout submit(Timeout timeout) {
+        if (!running)
+            throw new RejectedExecutionException("Scheduler has been shut down");
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void runTicker() {
+        try {
+            while (running) {
+                // 틱 시각을 시작 시각으로부터 계산하므로 park 가 늦게 깨어나도 오차가 쌓이지 않는다.
+                long wakeAt = startNanos + currentTick * tickNanos;
+                long now;
+                while ((now = System.nanoTime()) < wakeAt && running)
+                    LockSupport.parkNanos(this, wakeAt - now);
+                if (!running)
+                    break;
+
+                long dueTick = (now - startNanos) / tickNanos;
+                removeCancelled();
+                transferPending();
+                // 늦게 깨어났다면 밀린 틱을 모두 처리하고 한 번에 넘긴다.
+                while (currentTick <= dueTick) {
+                    advance(currentTick);
+                    currentTick++;
+                }
+                dispatch();
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot >= 0)
+                unlink(timeout);
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state != Timeout.SCHEDULED)
+                continue;
+            timeout.deadlineTick = Math.max(0, ceilDiv(timeout.deadlineNanos, tickNanos));
+            place(timeout, currentTick);
+        }
+    }
+
+    // 높은 단부터 현재 틱에 도달한 칸을 아래 단으로 내려보낸 뒤 0단의 칸을 만료시킨다.
+    private void advance(long tick) {
+        if ((tick & ((1L << (WHEEL_BITS * LEVELS)) - 1)) == 0)
+            cascade(OVERFLOW, tick);
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0)
+                cascade(level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK), tick);
+        }
+        cascade((int) (tick & WHEEL_MASK), tick);
+    }
+
+    private void cascade(int slot, long tick) {
+        Timeout timeout = heads[slot];
+        heads[slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = timeout.next = null;
+            timeout.slot = -1;
+            place(timeout, tick);
+            timeout = next;
+        }
+    }
+
+    // deadlineTick 과 현재 틱의 상위 자리가 같아지는 가장 낮은 단에 건다.
+    private void place(Timeout timeout, long tick) {
+        long deadline = timeout.deadlineTick;
+        if (deadline <= tick) {
+            if (timeout.expire())
+                expired.add(timeout);
+            return;
+        }
+        int slot = OVERFLOW;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * (level + 1);
+            if ((deadline >>> shift) == (tick >>> shift)) {
+                slot = level * WHEEL_SIZE + (int) ((deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                break;
+            }
+        }
+        Timeout head = heads[slot];
+        timeout.next = head;
+        if (head != null)
+            head.prev = timeout;
+        heads[slot] = timeout;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null)
+            timeout.prev.next = timeout.next;
+        else
+            heads[timeout.slot] = timeout.next;
+        if (timeout.next != null)
+            timeout.next.prev = timeout.prev;
+        timeout.prev = timeout.next = null;
+        timeout.slot = -1;
+    }
+
+    private void dispatch() {
+        int size = expired.size();
+        if (size == 0)
+            return;
+        int chunk = Math.max(MIN_CHUNK, (size + workerThreads - 1) / workerThreads);
+        try {
+            for (int from = 0; from < size; from += chunk) {
+                Timeout[] batch = expired.subList(from, Math.min(size, from + chunk)).toArray(new Timeout[0]);
+                workers.execute(() -> {
+                    for (Timeout timeout : batch)
+                        timeout.run();
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            // shutdown 과 경쟁한 경우로, 종료 후에는 만료된 작업도 실행하지 않는다.
+        }
+        expired.clear();
+    }
+
+    private static long saturatedAdd(long x, long y) {
+        long sum = x + y;
+        return y > 0 && sum < x ? Long.MAX_VALUE : sum;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    public static final class Timeout {
+        private static final int SCHEDULED = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+        private static final int FAILED = 3;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheelScheduler scheduler;
+        private final Runnable command;
+        private final long periodNanos;
+        private volatile int state = SCHEDULED;
+        private volatile Throwable failure;
+        // 다음 예정 시각(startNanos 기준). 주기 작업은 실행을 마친 작업자가 갱신한 뒤 pending 큐로 틱 스레드에 넘긴다.
+        private long deadlineNanos;
+
+        // 아래는 틱 스레드만 접근한다.
+        private long deadlineTick;
+        private int slot = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheelScheduler scheduler, Runnable command, long deadlineNanos, long periodNanos) {
+            if (command == null)
+                throw new NullPointerException("command");
+            this.scheduler = scheduler;
+            this.command = command;
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * 아직 실행되지 않은 작업, 또는 주기 작업의 이후 실행을 취소한다. 휠에서는 다음 틱에 빠진다.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, SCHEDULED, CANCELLED))
+                return false;
+            scheduler.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isDone() {
+            return state != SCHEDULED;
+        }
+
+        /**
+         * 작업이 던진 예외. 주기 작업이라면 이 예외로 이후 실행이 멈췄다. 없으면 null.
+         */
+        public Throwable failure() {
+            return failure;
+        }
+
+        // 단발 작업은 여기서 EXPIRED 로 바꿔 취소와 경쟁하고, 주기 작업은 실행 직전에 상태를 확인한다.
+        private boolean expire() {
+            return periodNanos > 0 ? state == SCHEDULED : STATE.compareAndSet(this, SCHEDULED, EXPIRED);
+        }
+
+        private void run() {
+            if (periodNanos > 0 && state != SCHEDULED)
+                return;
+            // 같은 묶음의 다른 작업이 실행되도록 예외는 여기서 잡아 둔다.
+            try {
+                command.run();
+            } catch (Throwable t) {
+                failure = t;
+                STATE.compareAndSet(this, SCHEDULED, FAILED);
+                return;
+            }
+            if (periodNanos == 0)
+                return;
+            deadlineNanos = saturatedAdd(deadlineNanos, periodNanos);
+            if (state == SCHEDULED && scheduler.running)
+                scheduler.pending.add(this);
+        }
+    }
+}
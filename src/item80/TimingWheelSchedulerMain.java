@@ -0,0 +1,160 @@
+package item80;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduledThreadPoolExecutor 와 TimingWheelScheduler 를 비교한다.
+ * 1) 단발 타임아웃 수십만 개의 등록/취소 처리량, 2) 주기 작업 수천 개의 실행 지연(jitter).
+ */
+public class TimingWheelSchedulerMain {
+    private static final int WORKERS = 2;
+
+    public static void main(String[] args) throws InterruptedException {
+        int timeouts = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int periodicTasks = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        for (int round = 0; round < 2; round++) {
+            System.out.println("--- round " + round + " ---");
+            throughputOfExecutor(timeouts);
+            throughputOfWheel(timeouts);
+            jitterOfExecutor(periodicTasks);
+            jitterOfWheel(periodicTasks);
+        }
+    }
+
+    private static long[] delays(int count) {
+        // 실제 타임아웃처럼 100ms ~ 1.1s 사이로 흩어 놓는다.
+        return ThreadLocalRandom.current().longs(count, 100_000_000L, 1_100_000_000L).toArray();
+    }
+
+    private static void throughputOfExecutor(int count) throws InterruptedException {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(WORKERS);
+        executor.setRemoveOnCancelPolicy(true);
+        long[] delays = delays(count);
+        CountDownLatch fired = new CountDownLatch(count - count / 2);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[count];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++)
+            futures[i] = executor.schedule(fired::countDown, delays[i], TimeUnit.NANOSECONDS);
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < count; i += 2)
+            futures[i].cancel(false);
+        long cancelled = System.nanoTime();
+        fired.await();
+
+        report("ScheduledThreadPoolExecutor", count, start, scheduled, cancelled);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private static void throughputOfWheel(int count) throws InterruptedException {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(1, TimeUnit.MILLISECONDS, WORKERS);
+        long[] delays = delays(count);
+        CountDownLatch fired = new CountDownLatch(count - count / 2);
+        TimingWheelScheduler.Timeout[] timeouts = new TimingWheelScheduler.Timeout[count];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++)
+            timeouts[i] = scheduler.schedule(fired::countDown, delays[i], TimeUnit.NANOSECONDS);
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < count; i += 2)
+            timeouts[i].cancel();
+        long cancelled = System.nanoTime();
+        fired.await();
+
+        report("TimingWheelScheduler       ", count, start, scheduled, cancelled);
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private static void report(String name, int count, long start, long scheduled, long cancelled) {
+        System.out.printf("%s schedule %,6d ns/op, cancel %,6d ns/op%n",
+                name, (scheduled - start) / count, (cancelled - scheduled) / (count / 2));
+    }
+
+    // 주기 작업마다 예정 시각 대비 실제 실행 시각의 지연을 기록한다. 같은 작업의 실행은 겹치지 않는다.
+    private static final class Lateness implements Runnable {
+        private final long firstNanos;
+        private final long periodNanos;
+        private final long[] samples;
+        private int runs = 0;
+
+        Lateness(long firstNanos, long periodNanos, int capacity) {
+            this.firstNanos = firstNanos;
+            this.periodNanos = periodNanos;
+            this.samples = new long[capacity];
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            if (runs < samples.length)
+                samples[runs] = now - (firstNanos + runs * periodNanos);
+            runs++;
+        }
+    }
+
+    private static final long PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long INITIAL_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int RUNS = 100;
+
+    private static void jitterOfExecutor(int tasks) throws InterruptedException {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(WORKERS);
+        Lateness[] lateness = new Lateness[tasks];
+        for (int i = 0; i < tasks; i++) {
+            lateness[i] = new Lateness(System.nanoTime() + INITIAL_DELAY_NANOS, PERIOD_NANOS, RUNS);
+            executor.scheduleAtFixedRate(lateness[i], INITIAL_DELAY_NANOS, PERIOD_NANOS, TimeUnit.NANOSECONDS);
+        }
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(INITIAL_DELAY_NANOS + PERIOD_NANOS * RUNS) + 100);
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        reportJitter("ScheduledThreadPoolExecutor", lateness);
+    }
+
+    private static void jitterOfWheel(int tasks) throws InterruptedException {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(1, TimeUnit.MILLISECONDS, WORKERS);
+        Lateness[] lateness = new Lateness[tasks];
+        for (int i = 0; i < tasks; i++) {
+            lateness[i] = new Lateness(System.nanoTime() + INITIAL_DELAY_NANOS, PERIOD_NANOS, RUNS);
+            scheduler.scheduleAtFixedRate(lateness[i], INITIAL_DELAY_NANOS, PERIOD_NANOS, TimeUnit.NANOSECONDS);
+        }
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(INITIAL_DELAY_NANOS + PERIOD_NANOS * RUNS) + 100);
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        reportJitter("TimingWheelScheduler       ", lateness);
+    }
+
+    private static void reportJitter(String name, Lateness[] lateness) {
+        long runs = 0;
+        int recorded = 0;
+        for (Lateness l : lateness) {
+            runs += l.runs;
+            recorded += Math.min(l.runs, l.samples.length);
+        }
+        long[] all = new long[recorded];
+        int n = 0;
+        for (Lateness l : lateness) {
+            int count = Math.min(l.runs, l.samples.length);
+            System.arraycopy(l.samples, 0, all, n, count);
+            n += count;
+        }
+        Arrays.sort(all);
+        double seconds = (double) (INITIAL_DELAY_NANOS + PERIOD_NANOS * RUNS) / 1e9;
+        System.out.printf("%s %,8.0f runs/s, lateness p50=%,dus p99=%,dus p99.9=%,dus max=%,dus%n",
+                name, runs / seconds, percentile(all, 50) / 1000, percentile(all, 99) / 1000,
+                percentile(all, 99.9) / 1000, all.length == 0 ? 0 : all[all.length - 1] / 1000);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,40 @@
+package item81;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Getter
+@Builder
+public class BenchmarkOptions {
+    // 동시에 출발시킬 작업자 수. 실행자의 스레드 수보다 크면 준비 단계에서 영원히 기다리므로 validate 에서 거부한다.
+    @Builder.Default
+    private final int concurrency = 1;
+    @Builder.Default
+    private final int warmupIterations = 5;
+    @Builder.Default
+    private final int measurementIterations = 10;
+    // 한 반복에서 작업자마다 action 을 실행할 횟수
+    @Builder.Default
+    private final int operationsPerThread = 1_000;
+    // 지정하면 측정 구간을 JFR 로 기록해 이 파일에 남긴다.
+    private final Path jfrOutput;
+
+    void validate(Executor executor) {
+        if (concurrency <= 0 || operationsPerThread <= 0 || warmupIterations < 0 || measurementIterations <= 0)
+            throw new IllegalArgumentException("Invalid benchmark options: concurrency=" + concurrency
+                    + ", operationsPerThread=" + operationsPerThread + ", warmupIterations=" + warmupIterations
+                    + ", measurementIterations=" + measurementIterations);
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            // 큐에 들어간 작업자는 먼저 출발한 작업자들이 start 래치에서 기다리는 동안 실행되지 못한다.
+            int threads = pool.getQueue().remainingCapacity() == 0 ? pool.getMaximumPoolSize() : pool.getCorePoolSize();
+            if (concurrency > threads)
+                throw new IllegalArgumentException("concurrency " + concurrency
+                        + " exceeds the " + threads + " threads the executor can run at once");
+        }
+    }
+}
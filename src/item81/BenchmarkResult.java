@@ -0,0 +1,46 @@
+package item81;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BenchmarkResult {
+    private final int concurrency;
+    private final long operations;
+    private final long elapsedNanos;
+    private final LatencyRecorder latency;
+    private final List<Double> iterationThroughputs;
+    private final long gcCount;
+    private final long gcMillis;
+
+    BenchmarkResult(int concurrency, long operations, long elapsedNanos, LatencyRecorder latency,
+                    List<Double> iterationThroughputs, long gcCount, long gcMillis) {
+        this.concurrency = concurrency;
+        this.operations = operations;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.iterationThroughputs = List.copyOf(iterationThroughputs);
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * 측정 반복 전체의 초당 연산 수.
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        double min = iterationThroughputs.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        double max = iterationThroughputs.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        return String.format("concurrency=%d, ops=%,d, throughput=%,.0f ops/s (iteration min %,.0f / max %,.0f)%n"
+                        + "latency p50=%,dns p99=%,dns p999=%,dns max=%,dns%n"
+                        + "gc during measurement: %d collections, %dms (%.1f%% of wall time)",
+                concurrency, operations, throughput(), min, max,
+                latency.percentile(50), latency.percentile(99), latency.percentile(99.9), latency.max(),
+                gcCount, gcMillis, elapsedNanos == 0 ? 0 : gcMillis * 1e8 / elapsedNanos);
+    }
+}
@@ -0,0 +1,149 @@
+package item81;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CountDowLatchTest.time 의 ready/start/done 래치 패턴을 반복해 돌리는 동시성 벤치마크.
+ * 워밍업 반복은 버리고, 측정 반복마다 작업자별 히스토그램에 연산 지연을 기록한 뒤 합쳐서
+ * 처리량과 p50/p99/p999 를 보고한다. JMH 없이 실행된다.
+ */
+public final class ConcurrencyBenchmark {
+
+    private ConcurrencyBenchmark() {
+    }
+
+    /**
+     * action 이 예외를 던지면 그 반복이 끝난 뒤 IllegalStateException 으로 실패한다.
+     * 처리량은 작업자들이 실제로 마친 연산 수로 계산한다.
+     */
+    public static BenchmarkResult run(Executor executor, BenchmarkOptions options, Runnable action)
+            throws InterruptedException {
+        options.validate(executor);
+        for (int i = 0; i < options.getWarmupIterations(); i++)
+            iteration(executor, options, action, new LatencyRecorder[options.getConcurrency()]);
+
+        Recording recording = startRecording(options);
+        try {
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+
+            LatencyRecorder latency = new LatencyRecorder();
+            List<Double> throughputs = new ArrayList<>();
+            long elapsed = 0;
+            long operations = 0;
+            for (int i = 0; i < options.getMeasurementIterations(); i++) {
+                LatencyRecorder[] recorders = new LatencyRecorder[options.getConcurrency()];
+                long iterationNanos = iteration(executor, options, action, recorders);
+                long iterationOperations = 0;
+                for (LatencyRecorder recorder : recorders) {
+                    latency.merge(recorder);
+                    iterationOperations += recorder.totalCount();
+                }
+                throughputs.add(iterationOperations * 1e9 / Math.max(1, iterationNanos));
+                elapsed += iterationNanos;
+                operations += iterationOperations;
+            }
+
+            long gcCount = gcCount() - gcCountBefore;
+            long gcMillis = gcMillis() - gcMillisBefore;
+            dumpRecording(recording, options);
+            return new BenchmarkResult(options.getConcurrency(), operations, elapsed, latency, throughputs, gcCount, gcMillis);
+        } finally {
+            if (recording != null)
+                recording.close();
+        }
+    }
+
+    /**
+     * 반복 한 번. 모든 작업자가 준비되면 동시에 출발시키고, 모두 끝날 때까지의 시간을 잰다.
+     */
+    private static long iteration(Executor executor, BenchmarkOptions options, Runnable action,
+                                  LatencyRecorder[] recorders) throws InterruptedException {
+        int concurrency = options.getConcurrency();
+        int operationsPerThread = options.getOperationsPerThread();
+        CountDownLatch ready = new CountDownLatch(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders[i] = recorder;
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int op = 0; op < operationsPerThread; op++) {
+                        long begin = System.nanoTime();
+                        action.run();
+                        recorder.record(System.nanoTime() - begin);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.await();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startNanos;
+        if (failure.get() != null)
+            throw new IllegalStateException("Benchmark action failed", failure.get());
+        return elapsed;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(0, gc.getCollectionCount());
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            millis += Math.max(0, gc.getCollectionTime());
+        return millis;
+    }
+
+    private static Recording startRecording(BenchmarkOptions options) {
+        if (options.getJfrOutput() == null)
+            return null;
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot start JFR recording", e);
+        }
+    }
+
+    // 닫기는 run 의 finally 에서 한다.
+    private static void dumpRecording(Recording recording, BenchmarkOptions options) {
+        if (recording == null)
+            return;
+        try {
+            recording.stop();
+            recording.dump(options.getJfrOutput());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write JFR recording to " + options.getJfrOutput(), e);
+        }
+    }
+}
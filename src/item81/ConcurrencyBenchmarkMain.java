@@ -0,0 +1,29 @@
+package item81;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrencyBenchmarkMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        Runnable action = () -> map.merge(ThreadLocalRandom.current().nextInt(1_000), 1, Integer::sum);
+
+        for (int concurrency : new int[]{1, 2, 4, 8}) {
+            ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+            try {
+                BenchmarkOptions options = BenchmarkOptions.builder()
+                        .concurrency(concurrency)
+                        .warmupIterations(5)
+                        .measurementIterations(10)
+                        .operationsPerThread(100_000)
+                        .build();
+                System.out.println(ConcurrencyBenchmark.run(executorService, options, action));
+            } finally {
+                executorService.shutdown();
+            }
+        }
+    }
+}
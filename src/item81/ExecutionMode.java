@@ -0,0 +1,46 @@
+package item81;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하를 만들 작업자를 어떤 스레드로 실행할지 정한다.
+ */
+public enum ExecutionMode {
+    // 동시 작업자 수만큼 플랫폼 스레드를 만든다.
+    PLATFORM {
+        @Override
+        public ExecutorService newExecutor(int concurrency) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    },
+    // 작업마다 가상 스레드를 만든다. JDK 21 이상에서만 사용할 수 있다.
+    VIRTUAL {
+        @Override
+        public ExecutorService newExecutor(int concurrency) {
+            try {
+                // 더 낮은 JDK 에서도 이 클래스가 컴파일되도록 리플렉션으로 찾는다.
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new UnsupportedOperationException("Virtual threads require JDK 21 or later, running on "
+                        + Runtime.version(), e);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot create virtual thread executor", e);
+            }
+        }
+    };
+
+    public abstract ExecutorService newExecutor(int concurrency);
+
+    public boolean isSupported() {
+        if (this == PLATFORM)
+            return true;
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
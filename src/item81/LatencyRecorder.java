@@ -0,0 +1,81 @@
+package item81;
+
+import java.util.Arrays;
+
+/**
+ * 한 스레드가 지연 시간을 기록하는 로그-선형 히스토그램.
+ * 2의 거듭제곱 구간을 SUB_BUCKETS 칸으로 나눠 상대 오차 1/SUB_BUCKETS 이내로 기록하고,
+ * 스레드마다 따로 기록한 뒤 merge 로 합치므로 기록할 때 동기화나 할당이 없다.
+ */
+public class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount = 0;
+    private long max = 0;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        max = Math.max(max, value);
+    }
+
+    public LatencyRecorder merge(LatencyRecorder other) {
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] += other.counts[i];
+        totalCount += other.totalCount;
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * 백분위수(0 ~ 100) 에 해당하는 값. 버킷 상한을 돌려주므로 실제 값보다 조금 클 수 있다.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+        if (totalCount == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(highestValueOf(i), max);
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
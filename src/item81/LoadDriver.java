@@ -0,0 +1,107 @@
+package item81;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * CountDowLatchTest.time 의 ready/start/done 프로토콜을 플랫폼 스레드나 가상 스레드로 대량 실행한다.
+ * 작업자마다 start 래치에서 깨어난 시각을 기록해 출발 지연(skew)을 측정하고,
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)된 횟수를 JFR 이벤트로 센다.
+ */
+public final class LoadDriver {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private LoadDriver() {
+    }
+
+    public static LoadResult run(ExecutionMode mode, int concurrency, Runnable action)
+            throws InterruptedException, IOException {
+        boolean pinningSupported = isEventAvailable(PINNED_EVENT);
+        try (Recording recording = pinningSupported ? new Recording() : null) {
+            if (recording != null) {
+                // 기본 임계값(20ms)보다 짧은 고정도 모두 세도록 임계값을 0 으로 둔다.
+                recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+                recording.start();
+            }
+            return measure(mode, concurrency, action, recording);
+        }
+    }
+
+    private static LoadResult measure(ExecutionMode mode, int concurrency, Runnable action, Recording recording)
+            throws InterruptedException, IOException {
+        long[] wakeNanos = new long[concurrency];
+        CountDownLatch ready = new CountDownLatch(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        ExecutorService executor = mode.newExecutor(concurrency);
+        long startNanos;
+        long elapsed;
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                executor.execute(() -> {
+                    ready.countDown();
+                    try {
+                        start.await();
+                        wakeNanos[worker] = System.nanoTime(); // 작업자별 칸에만 쓰므로 동기화가 필요 없다.
+                        action.run();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            ready.await();
+            startNanos = System.nanoTime();
+            start.countDown();
+            done.await(); // done 이 wakeNanos 쓰기의 가시성도 보장한다.
+            elapsed = System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdown();
+        }
+
+        LatencyRecorder skew = new LatencyRecorder();
+        for (long wake : wakeNanos)
+            skew.record(wake - startNanos);
+
+        long pinned = recording != null ? countEvents(recording, PINNED_EVENT) : -1;
+        return new LoadResult(mode, concurrency, elapsed, skew, pinned);
+    }
+
+    private static boolean isEventAvailable(String name) {
+        for (EventType type : FlightRecorder.getFlightRecorder().getEventTypes()) {
+            if (type.getName().equals(name))
+                return true;
+        }
+        return false;
+    }
+
+    private static long countEvents(Recording recording, String name) throws IOException {
+        Path file = Files.createTempFile("load-driver", ".jfr");
+        try {
+            recording.stop();
+            recording.dump(file);
+            long count = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(name))
+                    count++;
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package item81;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 클라이언트를 흉내 낸 작업을 플랫폼 스레드와 가상 스레드로 같은 동시성만큼 실행해 비교한다.
+ */
+public class LoadDriverMain {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Runnable blockingClient = () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            if (!mode.isSupported()) {
+                System.out.println(mode + " is not supported on JDK " + Runtime.version());
+                continue;
+            }
+            System.out.println(LoadDriver.run(mode, concurrency, blockingClient));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package item81;
+
+import lombok.Getter;
+
+@Getter
+public class LoadResult {
+    private final ExecutionMode mode;
+    private final int concurrency;
+    private final long elapsedNanos;
+    // start 래치를 연 시각부터 각 작업자가 깨어나기까지의 지연
+    private final LatencyRecorder startSkew;
+    // 가상 스레드가 캐리어 스레드에 고정된 횟수. JFR 이벤트가 없는 JDK 에서는 -1 이다.
+    private final long pinnedEvents;
+
+    LoadResult(ExecutionMode mode, int concurrency, long elapsedNanos, LatencyRecorder startSkew, long pinnedEvents) {
+        this.mode = mode;
+        this.concurrency = concurrency;
+        this.elapsedNanos = elapsedNanos;
+        this.startSkew = startSkew;
+        this.pinnedEvents = pinnedEvents;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-8s concurrency=%,d elapsed=%,dms start skew p50=%,dus p99=%,dus max=%,dus pinned=%s",
+                mode, concurrency, elapsedNanos / 1_000_000,
+                startSkew.percentile(50) / 1_000, startSkew.percentile(99) / 1_000, startSkew.max() / 1_000,
+                pinnedEvents < 0 ? "n/a" : Long.toString(pinnedEvents));
+    }
+}
@@ -0,0 +1,184 @@
+package item81;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 여러 라운드에 걸쳐 재사용하는 출발 장벽. CountDowLatchTest 의 ready/start 래치 쌍을 대신한다.
+ * 작업자는 출발 신호를 잠깐 바쁜 대기(spin)로 기다리다 그래도 오지 않으면 park 하므로,
+ * 대부분의 작업자가 깨어나는 데 걸리는 시간이 마이크로초 수준으로 줄어든다.
+ * 라운드마다 래치를 새로 만들지 않고, 각 라운드의 출발 지연(skew)을 직접 측정해 보고한다.
+ *
+ * <p>한 라운드의 흐름: 작업자 {@link #arriveAndAwaitStart()} → 조정자 {@link #awaitReady()} →
+ * {@link #release()} → (작업) → 조정자 {@link #awaitStarted()} 후 skew 조회.
+ *
+ * <p>CyclicBarrier 처럼 기다리던 작업자나 조정자가 인터럽트되면 장벽이 깨진다. 깨진 장벽에서 기다리던 쪽과
+ * 이후에 호출하는 쪽은 모두 BrokenBarrierException 을 받으며, 깨진 장벽은 다시 쓸 수 없다.
+ */
+public class SpinStartBarrier {
+    // 코어가 하나뿐이면 바쁜 대기는 아직 깨어나지 못한 작업자의 시간만 빼앗는다.
+    private static final long DEFAULT_SPIN_NANOS = Runtime.getRuntime().availableProcessors() > 1 ? 100_000 : 0;
+
+    private final int parties;
+    private final long spinNanos;
+    private final AtomicInteger arrived = new AtomicInteger();
+    private final AtomicInteger started = new AtomicInteger();
+    // 라운드 홀짝에 따라 절반씩 번갈아 쓴다. 먼저 깨어난 작업자가 다음 라운드에 등록해도
+    // 아직 unpark 하지 않은 이전 라운드의 등록을 덮어쓰지 않는다.
+    private final AtomicReferenceArray<Thread> parked;
+    private final AtomicLongArray wakeNanos;
+    private final LatencyRecorder skew = new LatencyRecorder();
+    private volatile int round = 0;
+    private volatile long releaseNanos;
+    private volatile boolean broken = false;
+
+    public SpinStartBarrier(int parties) {
+        this(parties, DEFAULT_SPIN_NANOS);
+    }
+
+    public SpinStartBarrier(int parties, long spinNanos) {
+        if (parties <= 0)
+            throw new IllegalArgumentException("parties must be positive: " + parties);
+        this.parties = parties;
+        this.spinNanos = spinNanos;
+        this.parked = new AtomicReferenceArray<>(2 * parties);
+        this.wakeNanos = new AtomicLongArray(parties);
+    }
+
+    /**
+     * 작업자가 준비됐음을 알리고 출발 신호를 기다린다. 출발한 라운드 번호를 반환한다.
+     */
+    public int arriveAndAwaitStart() throws InterruptedException, BrokenBarrierException {
+        checkNotBroken();
+        int myRound = round;
+        int slot = arrived.getAndIncrement();
+        if (slot >= parties)
+            throw new IllegalStateException("More than " + parties + " parties arrived in round " + myRound);
+
+        long spinUntil = System.nanoTime() + spinNanos;
+        while (round == myRound && !broken && System.nanoTime() < spinUntil)
+            Thread.onSpinWait();
+
+        if (round == myRound) {
+            // 등록한 뒤에 다시 확인하므로 release 와 엇갈려도 신호를 놓치지 않는다.
+            Thread current = Thread.currentThread();
+            int index = (myRound & 1) * parties + slot;
+            parked.set(index, current);
+            try {
+                while (round == myRound) {
+                    checkNotBroken();
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        if (round != myRound) {
+                            // 이미 출발 신호를 받았으면 CyclicBarrier 처럼 인터럽트 상태만 남기고 출발한다.
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                        breakBarrier();
+                        throw new InterruptedException();
+                    }
+                }
+            } finally {
+                // 두 라운드 뒤의 작업자가 이미 같은 슬롯에 등록했을 수 있으므로 자기 자신일 때만 지운다.
+                parked.compareAndSet(index, current, null);
+            }
+        }
+
+        wakeNanos.set(slot, System.nanoTime());
+        started.incrementAndGet();
+        return myRound;
+    }
+
+    /**
+     * 모든 작업자가 도착할 때까지 기다린다.
+     */
+    public void awaitReady() throws InterruptedException, BrokenBarrierException {
+        awaitCount(arrived, parties);
+    }
+
+    /**
+     * 작업자들을 출발시키고 다음 라운드를 준비한다.
+     */
+    public void release() throws BrokenBarrierException {
+        checkNotBroken();
+        if (arrived.get() != parties)
+            throw new IllegalStateException("Only " + arrived.get() + " of " + parties + " parties arrived");
+        started.set(0);
+        arrived.set(0);
+        int released = round;
+        releaseNanos = System.nanoTime();
+        round = released + 1;
+        int base = (released & 1) * parties;
+        for (int i = 0; i < parties; i++) {
+            Thread thread = parked.get(base + i);
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 이번 라운드의 모든 작업자가 깨어날 때까지 기다린 뒤, 출발 지연을 누적 히스토그램에 더하고 최대 지연을 반환한다.
+     */
+    public long awaitStarted() throws InterruptedException, BrokenBarrierException {
+        awaitCount(started, parties);
+        long release = releaseNanos;
+        long max = 0;
+        for (int i = 0; i < parties; i++) {
+            long delay = wakeNanos.get(i) - release;
+            skew.record(delay);
+            max = Math.max(max, delay);
+        }
+        return max;
+    }
+
+    /**
+     * 지금까지 측정한 모든 라운드의 작업자별 출발 지연 분포.
+     */
+    public LatencyRecorder skew() {
+        return skew;
+    }
+
+    public int round() {
+        return round;
+    }
+
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * 장벽을 깨고 기다리던 작업자를 모두 깨운다. 조정자는 폴링 중에 알아챈다.
+     */
+    private void breakBarrier() {
+        broken = true;
+        for (int i = 0; i < parked.length(); i++) {
+            Thread thread = parked.get(i);
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+    }
+
+    private void checkNotBroken() throws BrokenBarrierException {
+        if (broken)
+            throw new BrokenBarrierException();
+    }
+
+    private void awaitCount(AtomicInteger counter, int target) throws InterruptedException, BrokenBarrierException {
+        int spins = 0;
+        while (counter.get() < target) {
+            checkNotBroken();
+            if (++spins < 1_000) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+                if (Thread.interrupted()) {
+                    breakBarrier();
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package item81;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CountDownLatch 와 SpinStartBarrier 로 작업자를 여러 라운드 출발시켜 깨어나는 지연을 비교한다.
+ */
+public class SpinStartBarrierMain {
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws InterruptedException, BrokenBarrierException {
+        int parties = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(parties);
+        try {
+            System.out.println("CountDownLatch   " + describe(latchSkew(executor, parties)));
+            System.out.println("SpinStartBarrier " + describe(barrierSkew(executor, parties)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 라운드마다 래치 세 개를 새로 만드는 기존 방식
+    private static LatencyRecorder latchSkew(ExecutorService executor, int parties) throws InterruptedException {
+        LatencyRecorder skew = new LatencyRecorder();
+        for (int r = 0; r < ROUNDS; r++) {
+            CountDownLatch ready = new CountDownLatch(parties);
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(parties);
+            AtomicLongArray wake = new AtomicLongArray(parties);
+            for (int i = 0; i < parties; i++) {
+                int slot = i;
+                executor.execute(() -> {
+                    ready.countDown();
+                    try {
+                        start.await();
+                        wake.set(slot, System.nanoTime());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            ready.await();
+            long release = System.nanoTime();
+            start.countDown();
+            done.await();
+            for (int i = 0; i < parties; i++)
+                skew.record(wake.get(i) - release);
+        }
+        return skew;
+    }
+
+    // 같은 작업자들이 하나의 장벽으로 모든 라운드를 돈다.
+    private static LatencyRecorder barrierSkew(ExecutorService executor, int parties)
+            throws InterruptedException, BrokenBarrierException {
+        SpinStartBarrier barrier = new SpinStartBarrier(parties);
+        for (int i = 0; i < parties; i++) {
+            executor.execute(() -> {
+                try {
+                    for (int r = 0; r < ROUNDS; r++)
+                        barrier.arriveAndAwaitStart();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (BrokenBarrierException e) {
+                    // 다른 작업자가 인터럽트되어 장벽이 깨졌다.
+                }
+            });
+        }
+        for (int r = 0; r < ROUNDS; r++) {
+            barrier.awaitReady();
+            barrier.release();
+            barrier.awaitStarted();
+        }
+        return barrier.skew();
+    }
+
+    private static String describe(LatencyRecorder skew) {
+        return String.format("start skew p50=%,dns p99=%,dns max=%,dns", skew.percentile(50), skew.percentile(99), skew.max());
+    }
+}